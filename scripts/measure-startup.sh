@@ -0,0 +1,111 @@
+#!/bin/sh
+# Compares time to first request and resident memory of the startup variants:
+#   jar        the fat jar through its launcher, as java -jar runs it
+#   extracted  the jar extracted with the Boot jarmode tools
+#   aot        extracted, with AOT-processed bean definitions
+#   aot+cache  extracted and AOT, with a class data cache from a training run
+#              (AOT cache on JDK 25+, dynamic CDS archive before that)
+#
+# Build the AOT-processed jar first with ./mvnw -Paot package. The database is
+# configured as for the application (DB_* and JWT_SECRET, or SPRING_DATASOURCE_*);
+# EXTRA_CLASSPATH adds jars such as a JDBC driver to every variant.
+#
+# Usage: scripts/measure-startup.sh [jar]
+set -eu
+
+JAR=${1:-target/expensify-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-8080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8081}
+RUNS=${RUNS:-5}
+WORK=${WORK:-target/startup}
+EXTRA_CLASSPATH=${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}
+JAVA=${JAVA:-java}
+
+MAIN=br.edu.ufrn.expensify.ExpensifyApplication
+READY_URL="http://localhost:$MANAGEMENT_PORT/actuator/health/readiness"
+
+# Same settings as the training run in the Dockerfile: stop once the context
+# is refreshed, and never touch the database
+TRAINING_OPTS="-Dspring.context.exit=onRefresh
+    -Dspring.jpa.hibernate.ddl-auto=none
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false
+    -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+
+java_major() {
+    "$JAVA" -XshowSettings:properties -version 2>&1 | sed -n 's/^ *java.specification.version = //p'
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the command in the background, waits for the first successful request
+# and prints "<milliseconds> <rss KiB>"
+measure() {
+    start=$(now_ms)
+    "$@" --server.port="$PORT" --management.server.port="$MANAGEMENT_PORT" > "$WORK/run.log" 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null "$READY_URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited, see $WORK/run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+
+    elapsed=$(($(now_ms) - start))
+    rss=$(awk '/^VmRSS/ { print $2 }' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+report() {
+    name=$1
+    shift
+    results="$WORK/$name.results"
+    : > "$results"
+
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        measure "$@" >> "$results"
+        i=$((i + 1))
+    done
+
+    printf '%-10s %10s ms %10s MiB\n' \
+        "$name" \
+        "$(cut -d' ' -f1 "$results" | median)" \
+        "$(($(cut -d' ' -f2 "$results" | median) / 1024))"
+}
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$WORK/app" > /dev/null
+APP_JAR="$WORK/app/$(basename "$JAR")"
+
+if [ "$(java_major)" -ge 25 ]; then
+    CACHE_OUTPUT="-XX:AOTCacheOutput=$WORK/app.aot"
+    CACHE="-XX:AOTCache=$WORK/app.aot"
+else
+    CACHE_OUTPUT="-XX:ArchiveClassesAtExit=$WORK/app.jsa"
+    CACHE="-XX:SharedArchiveFile=$WORK/app.jsa"
+fi
+
+# shellcheck disable=SC2086
+"$JAVA" $CACHE_OUTPUT -Dspring.aot.enabled=true $TRAINING_OPTS -cp "$APP_JAR$EXTRA_CLASSPATH" "$MAIN" > "$WORK/training.log" 2>&1
+
+printf '%-10s %13s %14s   (median of %d runs, %s)\n' variant "first request" rss "$RUNS" "$("$JAVA" -version 2>&1 | head -1)"
+
+report jar "$JAVA" -cp "$JAR$EXTRA_CLASSPATH" org.springframework.boot.loader.launch.JarLauncher
+report extracted "$JAVA" -cp "$APP_JAR$EXTRA_CLASSPATH" "$MAIN"
+report aot "$JAVA" -Dspring.aot.enabled=true -cp "$APP_JAR$EXTRA_CLASSPATH" "$MAIN"
+# shellcheck disable=SC2086
+report aot+cache "$JAVA" $CACHE -Dspring.aot.enabled=true -cp "$APP_JAR$EXTRA_CLASSPATH" "$MAIN"
@@ -0,0 +1,96 @@
+package br.edu.ufrn.expensify.config;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import br.edu.ufrn.expensify.ExpensifyApplication;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}, with
+ * {@code jwt.stateless=false}, which loads the user with a SELECT per request,
+ * against {@code jwt.stateless=true}, which builds the principal from the
+ * verified claims. Boots the application with the {@code test} profile and the
+ * user and second-level caches off, so the database mode pays for the query
+ * the way it did before the stateless mode existed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean stateless;
+
+    private ConfigurableApplicationContext context;
+    private JwtAuthenticationFilter filter;
+    private String header;
+
+    private final FilterChain chain = (request, response) -> {};
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExpensifyApplication.class)
+            .profiles("test")
+            .run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--jwt.stateless=" + stateless,
+                "--auth.user-cache.maximum-size=0",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false"
+            );
+
+        User user = context.getBean(UserRepository.class).save(new User("filter-" + UUID.randomUUID(), "password"));
+
+        filter = context.getBean(JwtAuthenticationFilter.class);
+        header = "Bearer " + context.getBean(JwtService.class).generateToken(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts");
+        request.addHeader("Authorization", header);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+}
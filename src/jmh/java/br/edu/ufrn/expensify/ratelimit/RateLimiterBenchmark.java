@@ -0,0 +1,52 @@
+package br.edu.ufrn.expensify.ratelimit;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One admission decision, cycling through many clients so that bucket lookups
+ * miss the CPU caches the way they would under real traffic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimiter limiter;
+    private UUID[] clients;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(1_000, 1_000.0, CLIENTS, System::nanoTime);
+        clients = new UUID[CLIENTS];
+
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        next = next + 1 == CLIENTS ? 0 : next + 1;
+
+        return limiter.tryAcquire(clients[next]);
+    }
+
+}
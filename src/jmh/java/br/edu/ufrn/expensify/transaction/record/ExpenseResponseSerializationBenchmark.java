@@ -0,0 +1,67 @@
+package br.edu.ufrn.expensify.transaction.record;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Jackson serialization of expense lists, from a single page up to a full
+ * history. The writer is built once for the list type, as the message
+ * converter's mapper caches its serializers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ExpenseResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<ExpenseResponse> expenses;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().build().writerFor(new TypeReference<List<ExpenseResponse>>() {});
+        expenses = new ArrayList<>(size);
+
+        UUID accountId = UUID.randomUUID();
+
+        for (int i = 0; i < size; i++) {
+            expenses.add(new ExpenseResponse(
+                UUID.randomUUID(),
+                "Expense " + i,
+                10.0 + i,
+                LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                accountId
+            ));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() {
+        return writer.writeValueAsBytes(expenses);
+    }
+
+}
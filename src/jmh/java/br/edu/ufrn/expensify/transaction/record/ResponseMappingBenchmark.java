@@ -0,0 +1,91 @@
+package br.edu.ufrn.expensify.transaction.record;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+
+/**
+ * Entity-to-record mapping as done by the transaction controller for created
+ * and fetched transactions, over a batch of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseMappingBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    private List<Expense> expenses;
+    private List<Transfer> transfers;
+
+    @Setup
+    public void setUp() {
+        Account source = account();
+        Account destination = account();
+
+        expenses = new ArrayList<>(size);
+        transfers = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Expense expense = new Expense();
+            ReflectionTestUtils.setField(expense, "id", UUID.randomUUID());
+            expense.setDescription("Expense " + i);
+            expense.setAmount(10.0 + i);
+            expense.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            expense.setAccount(source);
+            expenses.add(expense);
+
+            Transfer transfer = new Transfer();
+            ReflectionTestUtils.setField(transfer, "id", UUID.randomUUID());
+            transfer.setDescription("Transfer " + i);
+            transfer.setAmount(10.0 + i);
+            transfer.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            transfer.setSourceAccount(source);
+            transfer.setDestinationAccount(destination);
+            transfers.add(transfer);
+        }
+    }
+
+    @Benchmark
+    public List<ExpenseResponse> mapExpenses() {
+        return expenses.stream().map(ExpenseResponse::of).toList();
+    }
+
+    @Benchmark
+    public List<TransferResponse> mapTransfers() {
+        return transfers.stream().map(TransferResponse::of).toList();
+    }
+
+    private static Account account() {
+        Account account = new Account();
+        ReflectionTestUtils.setField(account, "id", UUID.randomUUID());
+        account.setName("Checking");
+        account.setBalance(0.0);
+
+        return account;
+    }
+
+}
@@ -0,0 +1,129 @@
+package br.edu.ufrn.expensify.transaction.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import br.edu.ufrn.expensify.ExpensifyApplication;
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+
+/**
+ * Expense imports one create at a time, loading the account first as the
+ * controller does, against a single batch create of the same items. Boots the
+ * application on random ports with the {@code test} profile, so against
+ * in-memory H2 unless {@code SPRING_DATASOURCE_URL} points elsewhere; scores
+ * are expenses per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBatchBenchmark {
+
+    private static final int ITEMS = 500;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private AccountService accountService;
+    private User user;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExpensifyApplication.class)
+            .profiles("test")
+            .run("--server.port=0", "--management.server.port=0");
+
+        transactionService = context.getBean(TransactionService.class);
+        accountService = context.getBean(AccountService.class);
+
+        user = context.getBean(UserRepository.class).save(new User("batch-" + UUID.randomUUID(), "password"));
+
+        account = new Account();
+        account.setName("Imports");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = context.getBean(AccountRepository.class).save(account);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void singleItemCreates() {
+        authenticate();
+
+        try {
+            for (Expense expense : expenses()) {
+                expense.setAccount(accountService.getAccountById(account.getId()));
+
+                transactionService.createExpense(expense);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void batchCreate() {
+        authenticate();
+
+        try {
+            transactionService.createExpenses(expenses());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+
+    private List<Expense> expenses() {
+        List<Expense> expenses = new ArrayList<>(ITEMS);
+
+        for (int i = 0; i < ITEMS; i++) {
+            Expense expense = new Expense();
+            expense.setDescription("Imported expense " + i);
+            expense.setAmount(1.0);
+            expense.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            expense.setAccount(accountService.getAccountReference(account.getId()));
+            expenses.add(expense);
+        }
+
+        return expenses;
+    }
+
+}
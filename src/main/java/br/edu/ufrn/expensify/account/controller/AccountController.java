@@ -1,8 +1,10 @@
 package br.edu.ufrn.expensify.account.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,48 +13,83 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.edu.ufrn.expensify.account.entity.Account;
 import br.edu.ufrn.expensify.account.record.AccountResponse;
+import br.edu.ufrn.expensify.account.record.BalanceResponse;
 import br.edu.ufrn.expensify.account.record.CreateAccountRequest;
 import br.edu.ufrn.expensify.account.record.UpdateAccountRequest;
 import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.account.service.BalanceHistoryService;
+import br.edu.ufrn.expensify.pagination.Cursor;
+import br.edu.ufrn.expensify.pagination.PageLimits;
+import br.edu.ufrn.expensify.record.PageResponse;
 
 @RestController
 @RequestMapping("/accounts")
 public class AccountController {
     
     private final AccountService accountService;
-
-    public AccountController(AccountService accountService) {
+    private final BalanceHistoryService balanceHistoryService;
+    private final PageLimits pageLimits;
+
+    public AccountController(
+        AccountService accountService,
+        BalanceHistoryService balanceHistoryService,
+        PageLimits pageLimits
+    ) {
         this.accountService = accountService;
+        this.balanceHistoryService = balanceHistoryService;
+        this.pageLimits = pageLimits;
     }
 
     @GetMapping
-    public ResponseEntity<List<AccountResponse>> getAllAccounts() {
-        List<Account> accounts = accountService.getAllAccounts();
-
-        List<AccountResponse> responses = accounts.stream()
-            .map(account -> new AccountResponse(
-                account.getId(),
-                account.getName(),
-                account.getBalance()
-            ))
-            .toList();
+    public ResponseEntity<PageResponse<AccountResponse>> getAllAccounts(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        int pageSize = pageLimits.resolve(limit);
+
+        List<AccountResponse> accounts = accountService.getAllAccounts(Cursor.decodeUndated(cursor), pageSize + 1);
+
+        PageResponse<AccountResponse> responses = PageResponse.of(
+            accounts,
+            pageSize,
+            account -> new Cursor(null, account.id())
+        );
 
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<AccountResponse> getAccountById(@PathVariable UUID id) {
-        Account account = accountService.getAccountById(id);
+        AccountResponse response = accountService.getAccount(id);
 
-        AccountResponse response = new AccountResponse(
-            account.getId(),
-            account.getName(),
-            account.getBalance()
-        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<BalanceResponse> getBalanceAsOf(
+        @PathVariable UUID id,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        BalanceResponse response = balanceHistoryService.getBalanceAsOf(id, date != null ? date : LocalDate.now());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/balances")
+    public ResponseEntity<List<BalanceResponse>> getBalanceSeries(
+        @PathVariable UUID id,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+
+        List<BalanceResponse> response = balanceHistoryService.getBalanceSeries(id, start, end);
 
         return ResponseEntity.ok(response);
     }
@@ -1,7 +1,9 @@
 package br.edu.ufrn.expensify.account.entity;
 
+import java.util.Comparator;
 import java.util.UUID;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -15,9 +17,26 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+/**
+ * Kept out of the second-level cache. Balances only change through bulk
+ * updates, and Hibernate answers each of those by evicting every cached account
+ * and every cached query over accounts, for all users. Account reads go through
+ * {@code AccountCache} instead, which applies each balance change to the one
+ * user's entry. Updates only write the columns that changed, so a stale copy
+ * never writes its balance back.
+ */
 @Entity
 @Table(name = "accounts")
+@DynamicUpdate
 public class Account {
+
+    /**
+     * Orders ids the way PostgreSQL and H2 compare uuids, as unsigned bytes. Rows
+     * are locked in this order everywhere, including by queries sorting on id.
+     */
+    public static final Comparator<UUID> ID_ORDER = Comparator
+        .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
     
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -63,12 +82,4 @@ public class Account {
         this.balance = balance;
     }
 
-    public void increaseBalance(Double amount) {
-        this.balance += amount;
-    }
-
-    public void decreaseBalance(Double amount) {
-        this.balance -= amount;
-    }
-
 }
@@ -0,0 +1,42 @@
+package br.edu.ufrn.expensify.account.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Balance of an account at the end of a day. Written by the snapshot job and
+ * afterwards only adjusted by backdated transactions.
+ */
+@Entity
+@Table(name = "balance_snapshots")
+@IdClass(BalanceSnapshotId.class)
+public class BalanceSnapshot {
+
+    @Id
+    private UUID accountId;
+
+    @Id
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private Double balance;
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public Double getBalance() {
+        return balance;
+    }
+
+}
@@ -0,0 +1,41 @@
+package br.edu.ufrn.expensify.account.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+public class BalanceSnapshotId implements Serializable {
+
+    private UUID accountId;
+
+    private LocalDate snapshotDate;
+
+    public BalanceSnapshotId() {}
+
+    public BalanceSnapshotId(UUID accountId, LocalDate snapshotDate) {
+        this.accountId = accountId;
+        this.snapshotDate = snapshotDate;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BalanceSnapshotId id
+            && Objects.equals(accountId, id.accountId)
+            && Objects.equals(snapshotDate, id.snapshotDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, snapshotDate);
+    }
+
+}
@@ -0,0 +1,47 @@
+package br.edu.ufrn.expensify.account.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Read-only view of the signed amount each transaction adds to an account's
+ * balance. Only used in aggregate queries.
+ */
+@Entity
+@Immutable
+@Table(name = "account_ledger")
+@IdClass(LedgerEntryId.class)
+public class LedgerEntry {
+
+    @Id
+    private UUID transactionId;
+
+    @Id
+    private UUID accountId;
+
+    private UUID userId;
+
+    private LocalDate date;
+
+    private Double amount;
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+}
@@ -0,0 +1,25 @@
+package br.edu.ufrn.expensify.account.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+public class LedgerEntryId implements Serializable {
+
+    private UUID transactionId;
+
+    private UUID accountId;
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof LedgerEntryId id
+            && Objects.equals(transactionId, id.transactionId)
+            && Objects.equals(accountId, id.accountId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(transactionId, accountId);
+    }
+
+}
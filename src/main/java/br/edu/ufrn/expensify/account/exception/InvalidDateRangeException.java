@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.account.exception;
+
+public class InvalidDateRangeException extends RuntimeException {
+
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+
+}
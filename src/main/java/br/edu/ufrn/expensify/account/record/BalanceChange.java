@@ -0,0 +1,13 @@
+package br.edu.ufrn.expensify.account.record;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Signed amount a write adds to an account's balance, dated by its transaction.
+ */
+public record BalanceChange(
+    UUID accountId,
+    LocalDate date,
+    Double amount
+) {}
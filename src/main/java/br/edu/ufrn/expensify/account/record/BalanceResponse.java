@@ -0,0 +1,8 @@
+package br.edu.ufrn.expensify.account.record;
+
+import java.time.LocalDate;
+
+public record BalanceResponse(
+    LocalDate date,
+    Double balance
+) {}
@@ -1,22 +1,93 @@
 package br.edu.ufrn.expensify.account.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.record.AccountResponse;
 import br.edu.ufrn.expensify.auth.entity.User;
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, UUID> {
 
-    List<Account> findAllByUser(User user);
+    /**
+     * Pages are read-only transactions so they can be served by a replica. The
+     * account cache loads through {@link #findAllByUserId} on the primary instead,
+     * since it applies later balance changes on top of what it loaded.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        select new br.edu.ufrn.expensify.account.record.AccountResponse(a.id, a.name, a.balance)
+        from Account a
+        where a.user.id = :userId
+        order by a.id
+        """)
+    List<AccountResponse> findFirstPageByUserId(UUID userId, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        select new br.edu.ufrn.expensify.account.record.AccountResponse(a.id, a.name, a.balance)
+        from Account a
+        where a.user.id = :userId and a.id > :id
+        order by a.id
+        """)
+    List<AccountResponse> findPageByUserIdAfter(UUID userId, UUID id, Limit limit);
+
+    @Query("""
+        select new br.edu.ufrn.expensify.account.record.AccountResponse(a.id, a.name, a.balance)
+        from Account a
+        where a.user.id = :userId
+        order by a.id
+        """)
+    List<AccountResponse> findAllByUserId(UUID userId);
 
     Optional<Account> findByIdAndUser(UUID id, User user);
 
     void deleteByIdAndUser(UUID id, User user);
 
+    @Modifying(flushAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :delta where a.id = :id and a.user.id = :userId")
+    int addToBalance(UUID id, UUID userId, Double delta);
+
+    @Query("select a.id from Account a where a.user.id = :userId and a.id in :ids")
+    Set<UUID> findIdsByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+
+    @Query("select a.balance from Account a where a.id = :id")
+    Double findBalanceById(UUID id);
+
+    /**
+     * Locks the user's accounts so that writes, which update account balances
+     * first, wait for whatever the caller rebuilds from the user's transactions
+     * to commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.user.id = :userId order by a.id")
+    List<Account> lockAllByUserId(UUID userId);
+
+    /**
+     * Locks the accounts so that writes, which update balances first, either
+     * commit before the caller reads them or wait until it has committed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id in :ids order by a.id")
+    List<Account> lockAllByIdIn(Collection<UUID> ids);
+
+    @Query("select a.id from Account a order by a.id")
+    List<UUID> findFirstIds(Limit limit);
+
+    @Query("select a.id from Account a where a.id > :id order by a.id")
+    List<UUID> findIdsAfter(UUID id, Limit limit);
+
 }
@@ -0,0 +1,61 @@
+package br.edu.ufrn.expensify.account.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufrn.expensify.account.entity.BalanceSnapshot;
+import br.edu.ufrn.expensify.account.entity.BalanceSnapshotId;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshotId> {
+
+    Optional<BalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(UUID accountId, LocalDate date);
+
+    Optional<BalanceSnapshot> findFirstByAccountIdAndSnapshotDateGreaterThanOrderBySnapshotDateAsc(UUID accountId, LocalDate date);
+
+    List<BalanceSnapshot> findByAccountIdAndSnapshotDateBetweenOrderBySnapshotDate(UUID accountId, LocalDate from, LocalDate to);
+
+    boolean existsByAccountIdAndSnapshotDateGreaterThanEqual(UUID accountId, LocalDate date);
+
+    /**
+     * Carries a backdated change into every snapshot taken on or after its date.
+     */
+    @Modifying
+    @Query("""
+        update BalanceSnapshot s
+        set s.balance = s.balance + :amount
+        where s.accountId = :accountId and s.snapshotDate >= :date
+        """)
+    int addToSnapshotsFrom(UUID accountId, LocalDate date, Double amount);
+
+    /**
+     * Writes the end-of-day balance of each account by taking back every change
+     * dated after the day from its current balance.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "balance_snapshots"))
+    @NativeQuery("""
+        insert into balance_snapshots (account_id, snapshot_date, balance)
+        select a.id, :date, a.balance - coalesce((
+            select sum(l.amount) from account_ledger l
+            where l.account_id = a.id and l.date > :date
+        ), 0)
+        from accounts a
+        where a.id in :ids
+        on conflict do nothing
+        """)
+    int insertSnapshots(Collection<UUID> ids, LocalDate date);
+
+}
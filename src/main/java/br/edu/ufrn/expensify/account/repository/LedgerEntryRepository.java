@@ -0,0 +1,45 @@
+package br.edu.ufrn.expensify.account.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufrn.expensify.account.entity.LedgerEntry;
+import br.edu.ufrn.expensify.account.entity.LedgerEntryId;
+import br.edu.ufrn.expensify.account.record.BalanceChange;
+
+/**
+ * Aggregates over the ledger view. Every query is bounded by the owner and a
+ * date window, so the owner-date index on transactions limits what is read.
+ */
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, LedgerEntryId> {
+
+    @Query("""
+        select coalesce(sum(e.amount), 0) from LedgerEntry e
+        where e.userId = :userId and e.accountId = :accountId
+          and e.date > :after and e.date <= :upTo
+        """)
+    Double sumBetween(UUID userId, UUID accountId, LocalDate after, LocalDate upTo);
+
+    @Query("""
+        select coalesce(sum(e.amount), 0) from LedgerEntry e
+        where e.userId = :userId and e.accountId = :accountId and e.date > :after
+        """)
+    Double sumAfter(UUID userId, UUID accountId, LocalDate after);
+
+    @Query("""
+        select new br.edu.ufrn.expensify.account.record.BalanceChange(e.accountId, e.date, sum(e.amount))
+        from LedgerEntry e
+        where e.userId = :userId and e.accountId = :accountId
+          and e.date > :after and e.date <= :upTo
+        group by e.accountId, e.date
+        order by e.date
+        """)
+    List<BalanceChange> sumByDateBetween(UUID userId, UUID accountId, LocalDate after, LocalDate upTo);
+
+}
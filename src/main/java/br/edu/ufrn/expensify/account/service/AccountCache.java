@@ -0,0 +1,296 @@
+package br.edu.ufrn.expensify.account.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.record.AccountResponse;
+
+/**
+ * Cache of every account of a user, keyed by user id and bounded by the total
+ * number of accounts held. Cached maps are immutable and replaced on change.
+ *
+ * <p>Balance changes are applied in place once the writing transaction commits;
+ * creates, renames and deletes drop the entry instead. Loads do not lock
+ * anything, so a load racing with a write could read a balance the write is
+ * about to change. To rule that out, users are spread over stripes that count
+ * writers between commit and cache update and every change made to the cache;
+ * a load is only kept if its stripe had no such writer and no change while it
+ * ran, and is otherwise returned to the caller without being cached.
+ *
+ * <p>A non-positive maximum disables caching and every lookup goes to the loader.
+ */
+@Component
+public class AccountCache {
+
+    /**
+     * Rough retained size of one cached account: the tree map entry, the record,
+     * its id and balance, and the string header of its name.
+     */
+    private static final long ACCOUNT_BYTES = 40 + 24 + 32 + 16 + 40;
+    private static final long USER_BYTES = 48 + 32;
+
+    private static final int STRIPES = 256;
+
+    private final Logger logger = LoggerFactory.getLogger(AccountCache.class);
+
+    private final Cache<UUID, NavigableMap<UUID, AccountResponse>> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray committing = new AtomicLongArray(STRIPES);
+
+    public AccountCache(@Value("${accounts.cache.maximum-accounts:100000}") long maximumAccounts) {
+        if (maximumAccounts <= 0) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumAccounts)
+            .weigher((UUID userId, NavigableMap<UUID, AccountResponse> accounts) -> accounts.size() + 1)
+            .recordStats()
+            .build();
+    }
+
+    public static AccountCache disabled() {
+        return new AccountCache(0);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the user's accounts ordered by id, loading them on a miss.
+     */
+    public NavigableMap<UUID, AccountResponse> get(UUID userId, Function<UUID, List<AccountResponse>> loader) {
+        if (cache == null) {
+            return toMap(loader.apply(userId));
+        }
+
+        NavigableMap<UUID, AccountResponse> cached = cache.getIfPresent(userId);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        NavigableMap<UUID, AccountResponse> loaded = toMap(loader.apply(userId));
+
+        NavigableMap<UUID, AccountResponse> installed = cache.asMap().compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+
+            boolean quiet = committing.get(stripe) == 0 && generations.get(stripe) == generation;
+
+            return quiet ? loaded : null;
+        });
+
+        return installed != null ? installed : loaded;
+    }
+
+    /**
+     * Adds the delta to the cached balance once the surrounding transaction has
+     * committed, or right away when there is none.
+     */
+    public void addToBalance(UUID userId, UUID accountId, double delta) {
+        if (cache == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(userId, accounts -> withDelta(accounts, accountId, delta));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new CommitSynchronization(userId) {
+
+            @Override
+            NavigableMap<UUID, AccountResponse> apply(NavigableMap<UUID, AccountResponse> accounts) {
+                return withDelta(accounts, accountId, delta);
+            }
+
+        });
+    }
+
+    /**
+     * Drops the user's entry once the surrounding transaction has ended, so the
+     * next load sees whatever it committed.
+     */
+    public void invalidateAfterCompletion(UUID userId) {
+        if (cache == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new CommitSynchronization(userId) {
+
+            @Override
+            NavigableMap<UUID, AccountResponse> apply(NavigableMap<UUID, AccountResponse> accounts) {
+                return null;
+            }
+
+        });
+    }
+
+    public void invalidate(UUID userId) {
+        if (cache != null) {
+            update(userId, accounts -> null);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+
+            cache.invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    /**
+     * Approximates the heap retained by cached entries from their account count
+     * and name lengths.
+     */
+    public long estimatedBytes() {
+        if (cache == null) {
+            return 0;
+        }
+
+        return cache.asMap().values().stream()
+            .mapToLong(accounts -> USER_BYTES + accounts.values().stream()
+                .mapToLong(account -> ACCOUNT_BYTES + (account.name() == null ? 0 : account.name().length()))
+                .sum())
+            .sum();
+    }
+
+    @Scheduled(
+        fixedRateString = "${accounts.cache.stats-interval:5m}",
+        initialDelayString = "${accounts.cache.stats-interval:5m}"
+    )
+    public void logStats() {
+        if (cache == null) {
+            return;
+        }
+
+        CacheStats stats = stats();
+
+        logger.info(
+            "Account cache: {} users, hit ratio {}, {} hits, {} misses, {} evictions, ~{} KiB",
+            size(),
+            String.format("%.3f", stats.hitRate()),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.evictionCount(),
+            estimatedBytes() / 1024
+        );
+    }
+
+    /**
+     * Replaces the user's entry, if any, and bumps the stripe generation in the
+     * same atomic step, so loads that started earlier are not installed.
+     */
+    private void update(UUID userId, Function<NavigableMap<UUID, AccountResponse>, NavigableMap<UUID, AccountResponse>> change) {
+        cache.asMap().compute(userId, (id, accounts) -> {
+            generations.incrementAndGet(stripe(id));
+
+            return accounts == null ? null : change.apply(accounts);
+        });
+    }
+
+    private static NavigableMap<UUID, AccountResponse> withDelta(
+        NavigableMap<UUID, AccountResponse> accounts,
+        UUID accountId,
+        double delta
+    ) {
+        AccountResponse account = accounts.get(accountId);
+
+        if (account == null) {
+            return null;
+        }
+
+        TreeMap<UUID, AccountResponse> updated = new TreeMap<>(Account.ID_ORDER);
+        updated.putAll(accounts);
+        updated.put(accountId, new AccountResponse(account.id(), account.name(), account.balance() + delta));
+
+        return Collections.unmodifiableNavigableMap(updated);
+    }
+
+    private static int stripe(UUID userId) {
+        return Math.floorMod(userId.hashCode(), STRIPES);
+    }
+
+    private static NavigableMap<UUID, AccountResponse> toMap(List<AccountResponse> accounts) {
+        TreeMap<UUID, AccountResponse> map = new TreeMap<>(Account.ID_ORDER);
+        accounts.forEach(account -> map.put(account.id(), account));
+
+        return Collections.unmodifiableNavigableMap(map);
+    }
+
+    /**
+     * Marks the user's stripe as committing from just before the commit until the
+     * cache has caught up with it. A committed change is applied; anything else
+     * drops the entry, since its outcome may be unknown.
+     */
+    private abstract class CommitSynchronization implements TransactionSynchronization {
+
+        private final UUID userId;
+        private boolean marked;
+
+        CommitSynchronization(UUID userId) {
+            this.userId = userId;
+        }
+
+        abstract NavigableMap<UUID, AccountResponse> apply(NavigableMap<UUID, AccountResponse> accounts);
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            committing.incrementAndGet(stripe(userId));
+            marked = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                update(userId, status == STATUS_COMMITTED ? this::apply : accounts -> null);
+            } finally {
+                if (marked) {
+                    committing.decrementAndGet(stripe(userId));
+                }
+            }
+        }
+
+    }
+
+}
@@ -1,20 +1,31 @@
 package br.edu.ufrn.expensify.account.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.edu.ufrn.expensify.account.entity.Account;
 import br.edu.ufrn.expensify.account.exception.AccountNotFoundException;
+import br.edu.ufrn.expensify.account.record.AccountResponse;
 import br.edu.ufrn.expensify.account.repository.AccountRepository;
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.auth.service.AuthService;
+import br.edu.ufrn.expensify.pagination.Cursor;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("expensify.service")
 public class AccountService {
     
     private final Logger logger = LoggerFactory.getLogger(AccountService.class);
@@ -23,75 +34,233 @@ public class AccountService {
 
     private final AuthService authService;
 
-    public AccountService(AccountRepository accountRepository, AuthService authService) {
+    private final DataVersionService dataVersionService;
+
+    private final AccountCache accountCache;
+
+    public AccountService(
+        AccountRepository accountRepository,
+        AuthService authService,
+        DataVersionService dataVersionService,
+        AccountCache accountCache
+    ) {
         this.accountRepository = accountRepository;
         this.authService = authService;
+        this.dataVersionService = dataVersionService;
+        this.accountCache = accountCache;
     }
 
-    public List<Account> getAllAccounts() {
+    /**
+     * Returns up to {@code limit} accounts ordered by id, positioned after the
+     * cursor when one is given. Pages come from the account cache, or are
+     * projected straight into responses when it is disabled.
+     */
+    public List<AccountResponse> getAllAccounts(Cursor after, int limit) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching all accounts for user: {}", user.getUsername());
-        
-        return accountRepository.findAllByUser(user);
+        logger.debug("Fetching accounts page after cursor: {} for user: {}", after, user.getUsername());
+
+        if (accountCache.isEnabled()) {
+            NavigableMap<UUID, AccountResponse> accounts = cachedAccounts(user);
+
+            return (after == null ? accounts : accounts.tailMap(after.id(), false)).values().stream()
+                .limit(limit)
+                .toList();
+        }
+
+        if (after == null) {
+            return accountRepository.findFirstPageByUserId(user.getId(), Limit.of(limit));
+        }
+
+        return accountRepository.findPageByUserIdAfter(user.getId(), after.id(), Limit.of(limit));
     }
 
     public Account getAccountById(UUID id) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching account with id: {} for user: {}", id, user.getUsername());
+        logger.debug("Fetching account with id: {} for user: {}", id, user.getUsername());
     
         return accountRepository.findByIdAndUser(id, user)
             .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + id + " for user: " + user.getUsername()));
     }
 
+    /**
+     * Returns one of the authenticated user's accounts from the account cache.
+     */
+    public AccountResponse getAccount(UUID id) {
+        User user = authService.getAuthenticatedUser();
+
+        logger.debug("Fetching account with id: {} for user: {}", id, user.getUsername());
+
+        AccountResponse account = accountCache.isEnabled()
+            ? cachedAccounts(user).get(id)
+            : accountRepository.findByIdAndUser(id, user)
+                .map(found -> new AccountResponse(found.getId(), found.getName(), found.getBalance()))
+                .orElse(null);
+
+        if (account == null) {
+            throw new AccountNotFoundException("Account not found with id: " + id + " for user: " + user.getUsername());
+        }
+
+        return account;
+    }
+
+    /**
+     * Returns a lazy reference to one of the authenticated user's accounts after
+     * checking ownership against the account cache, so creating a transaction
+     * does not load the account row.
+     */
+    public Account getOwnedAccountReference(UUID id) {
+        getAccount(id);
+
+        return accountRepository.getReferenceById(id);
+    }
+
+    /**
+     * Returns a lazy reference to the account without querying it. Ownership is
+     * enforced later by the user-scoped balance updates.
+     */
+    public Account getAccountReference(UUID id) {
+        return accountRepository.getReferenceById(id);
+    }
+
+    /**
+     * Returns which of the given ids belong to accounts of the authenticated user,
+     * with a single query.
+     */
+    public Set<UUID> getOwnedAccountIds(Collection<UUID> ids) {
+        User user = authService.getAuthenticatedUser();
+
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        return accountRepository.findIdsByUserIdAndIdIn(user.getId(), ids);
+    }
+
     @Transactional
     public Account saveAccount(Account account) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Creating account: {} for user: {}", account, user.getUsername());
+        logger.debug("Creating account for user: {}", user.getUsername());
         
         account.setUser(user);
-        
-        return accountRepository.save(account);
+
+        Account savedAccount = accountRepository.save(account);
+        dataVersionService.bump(user.getId());
+        accountCache.invalidateAfterCompletion(user.getId());
+
+        return savedAccount;
     }
 
+    /**
+     * Renames an account loaded through {@link #getAccountById}. Only the name is
+     * copied onto the managed account, so a balance that changed since the
+     * account was loaded is never written back.
+     */
     @Transactional
     public Account updateAccount(Account account) {
-        logger.info("Updating account with id: {} for user: {}", account.getId(), account.getUser().getUsername());
+        logger.debug("Updating account with id: {} for user: {}", account.getId(), account.getUser().getUsername());
 
-        return accountRepository.save(account);
+        Account updatedAccount = accountRepository.getReferenceById(account.getId());
+        updatedAccount.setName(account.getName());
+        dataVersionService.bump(account.getUser().getId());
+        accountCache.invalidateAfterCompletion(account.getUser().getId());
+
+        return updatedAccount;
     }
     
     @Transactional
     public void deleteAccount(UUID id) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Deleting account with id: {} for user: {}", id, user.getUsername());
+        logger.debug("Deleting account with id: {} for user: {}", id, user.getUsername());
 
         accountRepository.deleteByIdAndUser(id, user);
+        dataVersionService.bump(user.getId());
+        accountCache.invalidateAfterCompletion(user.getId());
     }
     
     @Transactional
     public void increaseBalance(UUID accountId, Double amount) {
-        Account account = getAccountById(accountId);
-
-        account.increaseBalance(amount);
+        applyBalanceDelta(accountId, amount);
 
-        accountRepository.save(account);
-
-        logger.info("Increased balance of account with id: {} by amount: {}", accountId, amount);
+        logger.debug("Increased balance of account with id: {} by amount: {}", accountId, amount);
     }
     
     @Transactional
     public void decreaseBalance(UUID accountId, Double amount) {
-        Account account = getAccountById(accountId);
+        applyBalanceDelta(accountId, -amount);
 
-        account.decreaseBalance(amount);
+        logger.debug("Decreased balance of account with id: {} by amount: {}", accountId, amount);
+    }
 
-        accountRepository.save(account);
+    /**
+     * Moves the amount between two accounts of the authenticated user with one
+     * UPDATE per account. Rows are always locked in ascending id order, the
+     * order the database sorts them in when it locks rows itself, so two
+     * transfers in opposite directions between the same accounts queue behind
+     * each other instead of deadlocking.
+     */
+    @Transactional
+    public void transferBalance(UUID sourceAccountId, UUID destinationAccountId, Double amount) {
+        User user = authService.getAuthenticatedUser();
+
+        if (Account.ID_ORDER.compare(sourceAccountId, destinationAccountId) <= 0) {
+            updateBalance(sourceAccountId, user, -amount);
+            updateBalance(destinationAccountId, user, amount);
+        } else {
+            updateBalance(destinationAccountId, user, amount);
+            updateBalance(sourceAccountId, user, -amount);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Transferred amount: {} from account with id: {} to account with id: {}", amount, sourceAccountId, destinationAccountId);
+        }
+    }
+
+    /**
+     * Applies one aggregated delta per account, in ascending id order like
+     * {@link #transferBalance}, so batches never deadlock with each other or with
+     * transfers.
+     */
+    @Transactional
+    public void applyBalanceDeltas(Map<UUID, Double> deltas) {
+        User user = authService.getAuthenticatedUser();
+
+        TreeMap<UUID, Double> ordered = new TreeMap<>(Account.ID_ORDER);
+        ordered.putAll(deltas);
+        ordered.forEach((accountId, delta) -> updateBalance(accountId, user, delta));
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Applied balance deltas to {} accounts for user: {}", deltas.size(), user.getUsername());
+        }
+    }
+
+    /**
+     * Applies the delta with a single conditional UPDATE scoped to the authenticated
+     * user, so concurrent changes to the same account never overwrite each other.
+     * Nothing is read back: callers do not need the new balance, and the account
+     * cache applies the same delta once the transaction commits.
+     */
+    private void applyBalanceDelta(UUID accountId, Double delta) {
+        User user = authService.getAuthenticatedUser();
+
+        updateBalance(accountId, user, delta);
+    }
+
+    private void updateBalance(UUID accountId, User user, Double delta) {
+        int updated = accountRepository.addToBalance(accountId, user.getId(), delta);
+
+        if (updated == 0) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId + " for user: " + user.getUsername());
+        }
+
+        accountCache.addToBalance(user.getId(), accountId, delta);
+    }
 
-        logger.info("Decreased balance of account with id: {} by amount: {}", accountId, amount);
+    private NavigableMap<UUID, AccountResponse> cachedAccounts(User user) {
+        return accountCache.get(user.getId(), accountRepository::findAllByUserId);
     }
 
 }
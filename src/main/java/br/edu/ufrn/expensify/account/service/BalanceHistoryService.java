@@ -0,0 +1,232 @@
+package br.edu.ufrn.expensify.account.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.entity.BalanceSnapshot;
+import br.edu.ufrn.expensify.account.entity.BalanceSnapshotId;
+import br.edu.ufrn.expensify.account.exception.InvalidDateRangeException;
+import br.edu.ufrn.expensify.account.record.BalanceChange;
+import br.edu.ufrn.expensify.account.record.BalanceResponse;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.repository.BalanceSnapshotRepository;
+import br.edu.ufrn.expensify.account.repository.LedgerEntryRepository;
+
+/**
+ * Answers historical balance questions from daily snapshots, replaying only the
+ * ledger changes between the requested day and the nearest snapshot.
+ */
+@Service
+public class BalanceHistoryService {
+
+    private final Logger logger = LoggerFactory.getLogger(BalanceHistoryService.class);
+
+    // Accounts in the order balance updates lock them, so snapshot rows are too
+    private static final Comparator<BalanceSnapshotId> ORDER = Comparator
+        .comparing(BalanceSnapshotId::getAccountId, Account.ID_ORDER)
+        .thenComparing(BalanceSnapshotId::getSnapshotDate);
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSeriesDays;
+    private final int snapshotChunkSize;
+
+    public BalanceHistoryService(
+        BalanceSnapshotRepository balanceSnapshotRepository,
+        LedgerEntryRepository ledgerEntryRepository,
+        AccountRepository accountRepository,
+        AccountService accountService,
+        TransactionTemplate transactionTemplate,
+        @Value("${accounts.balance-history.max-series-days:731}") int maxSeriesDays,
+        @Value("${accounts.balance-history.snapshot-chunk-size:500}") int snapshotChunkSize
+    ) {
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxSeriesDays = maxSeriesDays;
+        this.snapshotChunkSize = snapshotChunkSize;
+    }
+
+    /**
+     * Returns the balance of one of the authenticated user's accounts at the end
+     * of the given day.
+     */
+    @Transactional(readOnly = true)
+    public BalanceResponse getBalanceAsOf(UUID accountId, LocalDate date) {
+        Account account = accountService.getAccountById(accountId);
+
+        logger.debug("Fetching balance of account with id: {} as of {}", accountId, date);
+
+        return new BalanceResponse(date, balanceAsOf(account, date));
+    }
+
+    /**
+     * Returns one end-of-day balance per day between the two dates, inclusive.
+     * Days covered by snapshots are read directly; only the days without one
+     * are rebuilt from the ledger, grouped by day in a single query.
+     */
+    @Transactional(readOnly = true)
+    public List<BalanceResponse> getBalanceSeries(UUID accountId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("from must not be after to");
+        }
+
+        if (ChronoUnit.DAYS.between(from, to) >= maxSeriesDays) {
+            throw new InvalidDateRangeException("date range must not exceed " + maxSeriesDays + " days");
+        }
+
+        Account account = accountService.getAccountById(accountId);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Fetching balance series of account with id: {} from {} to {}", accountId, from, to);
+        }
+
+        Map<LocalDate, Double> snapshots = balanceSnapshotRepository
+            .findByAccountIdAndSnapshotDateBetweenOrderBySnapshotDate(accountId, from, to).stream()
+            .collect(Collectors.toMap(BalanceSnapshot::getSnapshotDate, BalanceSnapshot::getBalance));
+
+        LocalDate firstGap = null;
+        LocalDate lastGap = null;
+
+        for (LocalDate day = from.plusDays(1); !day.isAfter(to); day = day.plusDays(1)) {
+            if (!snapshots.containsKey(day)) {
+                firstGap = firstGap == null ? day : firstGap;
+                lastGap = day;
+            }
+        }
+
+        Map<LocalDate, Double> changes = firstGap == null
+            ? Map.of()
+            : ledgerEntryRepository.sumByDateBetween(account.getUser().getId(), accountId, firstGap.minusDays(1), lastGap).stream()
+                .collect(Collectors.toMap(BalanceChange::date, BalanceChange::amount));
+
+        List<BalanceResponse> series = new ArrayList<>();
+        double balance = snapshots.containsKey(from) ? snapshots.get(from) : balanceAsOf(account, from);
+        series.add(new BalanceResponse(from, balance));
+
+        for (LocalDate day = from.plusDays(1); !day.isAfter(to); day = day.plusDays(1)) {
+            balance = snapshots.containsKey(day)
+                ? snapshots.get(day)
+                : balance + changes.getOrDefault(day, 0.0);
+
+            series.add(new BalanceResponse(day, balance));
+        }
+
+        return series;
+    }
+
+    /**
+     * Carries changes dated before today into the snapshots they precede, inside
+     * the caller's transaction. Changes dated today or later cannot affect any
+     * snapshot and cost nothing; accounts with no snapshot after their earliest
+     * change cost a single lookup.
+     */
+    @Transactional
+    public void applyChanges(Collection<BalanceChange> changes) {
+        LocalDate today = LocalDate.now();
+        Map<BalanceSnapshotId, Double> backdated = new TreeMap<>(ORDER);
+
+        for (BalanceChange change : changes) {
+            if (change.date().isBefore(today)) {
+                backdated.merge(new BalanceSnapshotId(change.accountId(), change.date()), change.amount(), Double::sum);
+            }
+        }
+
+        UUID accountId = null;
+        boolean hasSnapshots = false;
+
+        for (Map.Entry<BalanceSnapshotId, Double> entry : backdated.entrySet()) {
+            BalanceSnapshotId id = entry.getKey();
+
+            // Entries are ordered by account then date, so the first one seen for an
+            // account is its earliest change and decides whether any snapshot follows.
+            if (!id.getAccountId().equals(accountId)) {
+                accountId = id.getAccountId();
+                hasSnapshots = balanceSnapshotRepository.existsByAccountIdAndSnapshotDateGreaterThanEqual(accountId, id.getSnapshotDate());
+            }
+
+            if (hasSnapshots) {
+                balanceSnapshotRepository.addToSnapshotsFrom(accountId, id.getSnapshotDate(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Snapshots every account at the end of the given day, which must be in the
+     * past. Accounts are processed in chunks, each in its own transaction, and
+     * days that already have a snapshot are left untouched.
+     *
+     * @return the number of accounts visited
+     */
+    public int snapshotAll(LocalDate date) {
+        if (!date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Only past days can be snapshotted: " + date);
+        }
+
+        int visited = 0;
+        List<UUID> ids = accountRepository.findFirstIds(Limit.of(snapshotChunkSize));
+
+        while (!ids.isEmpty()) {
+            List<UUID> chunk = ids;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                accountRepository.lockAllByIdIn(chunk);
+                balanceSnapshotRepository.insertSnapshots(chunk, date);
+            });
+
+            visited += chunk.size();
+            ids = accountRepository.findIdsAfter(chunk.getLast(), Limit.of(snapshotChunkSize));
+        }
+
+        return visited;
+    }
+
+    /**
+     * Replays the ledger from the nearest snapshot on either side of the day,
+     * falling back to the current balance when the account has none.
+     */
+    private double balanceAsOf(Account account, LocalDate date) {
+        UUID userId = account.getUser().getId();
+        Optional<BalanceSnapshot> before = balanceSnapshotRepository
+            .findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(account.getId(), date);
+
+        if (before.isPresent()) {
+            BalanceSnapshot snapshot = before.get();
+
+            if (snapshot.getSnapshotDate().equals(date)) {
+                return snapshot.getBalance();
+            }
+
+            return snapshot.getBalance() + ledgerEntryRepository.sumBetween(userId, account.getId(), snapshot.getSnapshotDate(), date);
+        }
+
+        return balanceSnapshotRepository
+            .findFirstByAccountIdAndSnapshotDateGreaterThanOrderBySnapshotDateAsc(account.getId(), date)
+            .map(snapshot -> snapshot.getBalance() - ledgerEntryRepository.sumBetween(userId, account.getId(), date, snapshot.getSnapshotDate()))
+            .orElseGet(() -> account.getBalance() - ledgerEntryRepository.sumAfter(userId, account.getId(), date));
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.edu.ufrn.expensify.account.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshots every account at the end of the previous day, shortly after midnight.
+ */
+@Component
+public class BalanceSnapshotJob {
+
+    private final Logger logger = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    private final BalanceHistoryService balanceHistoryService;
+
+    public BalanceSnapshotJob(BalanceHistoryService balanceHistoryService) {
+        this.balanceHistoryService = balanceHistoryService;
+    }
+
+    @Scheduled(cron = "${accounts.balance-history.snapshot-cron:0 5 0 * * *}")
+    public void snapshotYesterday() {
+        long startedAt = System.nanoTime();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        int accounts = balanceHistoryService.snapshotAll(yesterday);
+
+        logger.info(
+            "Snapshotted {} accounts as of {} in {} ms",
+            accounts,
+            yesterday,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)
+        );
+    }
+
+}
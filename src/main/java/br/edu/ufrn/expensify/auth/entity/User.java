@@ -4,18 +4,27 @@ import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidator.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 public class User implements UserDetails {
+
+    public static final String CACHE_REGION = "users";
     
     @Id
     @GeneratedValue
@@ -33,6 +42,15 @@ public class User implements UserDetails {
         this.password = password;
     }
 
+    /**
+     * Compact principal rebuilt from token claims. It carries no password and
+     * is never persisted; repositories only use its id.
+     */
+    public User(UUID id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -0,0 +1,29 @@
+package br.edu.ufrn.expensify.auth.entity;
+
+import org.springframework.stereotype.Component;
+
+import br.edu.ufrn.expensify.auth.service.UserCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Drops cached principals whenever a user row changes, so a renamed user or a
+ * new password hash is never served from {@link UserCache}. The entry goes once
+ * the transaction has committed, since these callbacks run at flush.
+ */
+@Component
+public class UserCacheInvalidator {
+
+    private final UserCache userCache;
+
+    public UserCacheInvalidator(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(User user) {
+        userCache.invalidateAfterCompletion(user.getId());
+    }
+
+}
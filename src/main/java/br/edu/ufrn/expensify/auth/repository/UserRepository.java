@@ -1,16 +1,33 @@
 package br.edu.ufrn.expensify.auth.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.edu.ufrn.expensify.auth.entity.User;
+import jakarta.persistence.QueryHint;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     
+    /**
+     * Served from the query cache, which Hibernate invalidates whenever a user
+     * row is written.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
 
+    @Query("select u.id from User u order by u.id")
+    List<UUID> findFirstIds(Limit limit);
+
+    @Query("select u.id from User u where u.id > :id order by u.id")
+    List<UUID> findIdsAfter(UUID id, Limit limit);
+
 }
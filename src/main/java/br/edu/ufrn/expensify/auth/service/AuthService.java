@@ -9,8 +9,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import br.edu.ufrn.expensify.auth.entity.User;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("expensify.service")
 public class AuthService {
     
     private final Logger logger = LoggerFactory.getLogger(AuthService.class);
@@ -27,7 +29,7 @@ public class AuthService {
     }
 
     public String authenticate(String username, String password) {
-        logger.info("Authenticating user: {}", username);
+        logger.debug("Authenticating user: {}", username);
 
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(
@@ -40,7 +42,7 @@ public class AuthService {
 
         User user = (User) authentication.getPrincipal();
 
-        logger.info("Generating JWT token for user: {}", username);
+        logger.debug("Generating JWT token for user: {}", username);
 
         return jwtService.generateToken(user);
     }
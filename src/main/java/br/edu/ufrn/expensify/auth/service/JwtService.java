@@ -2,6 +2,7 @@ package br.edu.ufrn.expensify.auth.service;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
@@ -12,16 +13,23 @@ import org.springframework.stereotype.Service;
 
 import br.edu.ufrn.expensify.auth.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("expensify.service")
 public class JwtService {
-    
+
+    private static final String USER_ID_CLAIM = "uid";
+
     private final Logger logger = LoggerFactory.getLogger(JwtService.class);
 
     private final SecretKey secretKey;
 
+    private final JwtParser jwtParser;
+
     private final Long expiration;
 
     public JwtService(
@@ -29,41 +37,51 @@ public class JwtService {
         @Value("${jwt.expiration}") Long expiration
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+            .verifyWith(secretKey)
+            .build();
         this.expiration = expiration;
     }
 
     public String generateToken(User user) {
-        logger.info("Generating token for user: {}", user.getUsername());
+        logger.debug("Generating token for user: {}", user.getUsername());
 
         return Jwts.builder()
             .subject(user.getUsername())
+            .claim(USER_ID_CLAIM, user.getId().toString())
             .issuedAt(new Date())
             .expiration(new Date(System.currentTimeMillis() + expiration))
             .signWith(secretKey)
             .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+    /**
+     * Verifies the signature and expiration of the token and returns its claims.
+     * Throws a {@link io.jsonwebtoken.JwtException} when the token is not valid.
+     */
+    public Claims parseToken(String token) {
+        return jwtParser
+            .parseSignedClaims(token)
+            .getPayload();
     }
 
-    public boolean isTokenValid(String token, User user) {
-        return extractUsername(token).equals(user.getUsername())
-                && !isTokenExpired(token);
-    }
+    /**
+     * Builds the authenticated principal straight from verified claims, without
+     * touching the database. Returns null for tokens issued without the user id.
+     */
+    public User extractPrincipal(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+
+        if (userId == null) {
+            return null;
+        }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token)
-                .getExpiration()
-                .before(new Date());
+        return new User(UUID.fromString(userId), claims.getSubject());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    public boolean isTokenValid(Claims claims, User user) {
+        return claims.getSubject().equals(user.getUsername())
+                && !claims.getExpiration().before(new Date());
     }
 
 }
@@ -0,0 +1,133 @@
+package br.edu.ufrn.expensify.auth.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+
+/**
+ * Size-bounded, time-expiring cache of user principals keyed by username.
+ * An index from user id to the cached username lets a changed user be dropped
+ * directly, even after a rename. A non-positive maximum size disables caching
+ * and every lookup goes to the loader.
+ */
+@Component
+public class UserCache {
+
+    private final Logger logger = LoggerFactory.getLogger(UserCache.class);
+
+    private final Cache<String, User> cache;
+    private final ConcurrentMap<UUID, String> usernames = new ConcurrentHashMap<>();
+
+    public UserCache(
+        @Value("${auth.user-cache.maximum-size:10000}") long maximumSize,
+        @Value("${auth.user-cache.expire-after-write:5m}") Duration expireAfterWrite
+    ) {
+        if (maximumSize <= 0) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .evictionListener((String username, User user, RemovalCause cause) -> usernames.remove(user.getId(), username))
+            .recordStats()
+            .build();
+    }
+
+    public static UserCache disabled() {
+        return new UserCache(0, Duration.ZERO);
+    }
+
+    public User get(String username, Function<String, User> loader) {
+        if (cache == null) {
+            return loader.apply(username);
+        }
+
+        return cache.get(username, name -> {
+            User user = loader.apply(name);
+            usernames.put(user.getId(), name);
+
+            return user;
+        });
+    }
+
+    public void invalidate(String username) {
+        if (cache != null) {
+            User user = cache.asMap().remove(username);
+
+            if (user != null) {
+                usernames.remove(user.getId(), username);
+            }
+        }
+    }
+
+    public void invalidate(UUID userId) {
+        if (cache != null) {
+            String username = usernames.remove(userId);
+
+            if (username != null) {
+                cache.invalidate(username);
+            }
+
+            logger.debug("Invalidated cached principal for user id: {}", userId);
+        }
+    }
+
+    /**
+     * Drops the user's principal once the surrounding transaction has ended.
+     * Dropping it earlier would let a concurrent lookup cache the row as it was
+     * before the commit again.
+     */
+    public void invalidateAfterCompletion(UUID userId) {
+        if (cache == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(userId);
+            }
+
+        });
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+            usernames.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+}
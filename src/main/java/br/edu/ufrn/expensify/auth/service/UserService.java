@@ -1,15 +1,19 @@
 package br.edu.ufrn.expensify.auth.service;
 
+import java.util.UUID;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.auth.exception.UsernameAlreadyExistsException;
 import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -18,28 +22,62 @@ public class UserService implements UserDetailsService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final DataVersionService dataVersionService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        UserCache userCache,
+        DataVersionService dataVersionService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.dataVersionService = dataVersionService;
     }
 
     @Override
     public User loadUserByUsername(String username) throws UsernameNotFoundException {
-        logger.info("Loading user by username: {}", username);
-        
+        return userCache.get(username, this::findUserByUsername);
+    }
+
+    private User findUserByUsername(String username) {
+        logger.debug("Loading user by username: {}", username);
+
         return userRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 
+    /**
+     * Creates the user together with its first data version, so that later writes
+     * only ever need to increment it.
+     */
+    @Transactional
     public User registerUser(String username, String password) {
         if (userRepository.existsByUsername(username)) {
             throw new UsernameAlreadyExistsException(username);
         }
 
         User user = new User(username, passwordEncoder.encode(password));
-        
-        return userRepository.save(user);
+
+        User savedUser = userRepository.save(user);
+        dataVersionService.bump(savedUser.getId());
+
+        userCache.invalidate(username);
+
+        return savedUser;
+    }
+
+    /**
+     * Deletes the user. Accounts, transactions and everything else the user owns
+     * go with it through the foreign keys.
+     */
+    @Transactional
+    public void deleteUser(UUID id) {
+        logger.debug("Deleting user with id: {}", id);
+
+        userRepository.deleteById(id);
     }
 
 }
@@ -0,0 +1,152 @@
+package br.edu.ufrn.expensify.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes one structured record per request to the {@value #LOGGER} logger, with
+ * the user id, endpoint pattern, status, latency and the number of SQL
+ * statements the request ran. Runs ahead of {@link JwtAuthenticationFilter}, so
+ * the latency covers authentication and rate limiting too.
+ *
+ * <p>Requests are sampled per category, so cheap reads can be thinned out while
+ * writes, logins, errors and slow requests are kept. When the logger is off,
+ * nothing beyond two clock reads and a counter read is done per request.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER = "br.edu.ufrn.expensify.access";
+
+    private final Logger logger = LoggerFactory.getLogger(LOGGER);
+
+    private final long slowThresholdNanos;
+    private final double[] sampleRates = new double[Category.values().length];
+
+    public AccessLogFilter(
+            @Value("${access-log.slow-threshold:1s}") Duration slowThreshold,
+            @Value("${access-log.sampling.server-errors:1.0}") double serverErrors,
+            @Value("${access-log.sampling.slow:1.0}") double slow,
+            @Value("${access-log.sampling.client-errors:1.0}") double clientErrors,
+            @Value("${access-log.sampling.auth:1.0}") double auth,
+            @Value("${access-log.sampling.writes:1.0}") double writes,
+            @Value("${access-log.sampling.reads:0.1}") double reads
+    ) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRates[Category.SERVER_ERROR.ordinal()] = serverErrors;
+        this.sampleRates[Category.SLOW.ordinal()] = slow;
+        this.sampleRates[Category.CLIENT_ERROR.ordinal()] = clientErrors;
+        this.sampleRates[Category.AUTH.ordinal()] = auth;
+        this.sampleRates[Category.WRITE.ordinal()] = writes;
+        this.sampleRates[Category.READ.ordinal()] = reads;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long statementsBefore = SqlStatementCounter.current();
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (logger.isInfoEnabled()) {
+                int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                long elapsed = System.nanoTime() - start;
+
+                if (sampled(categorize(request, status, elapsed))) {
+                    log(request, status, elapsed, SqlStatementCounter.current() - statementsBefore);
+                }
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long elapsedNanos, long statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object userId = authentication != null && authentication.getPrincipal() instanceof User user
+            ? user.getId()
+            : null;
+
+        logger.atInfo()
+            .setMessage("{} {} {}")
+            .addArgument(request.getMethod())
+            .addArgument(endpoint)
+            .addArgument(status)
+            .addKeyValue("method", request.getMethod())
+            .addKeyValue("endpoint", endpoint)
+            .addKeyValue("status", status)
+            .addKeyValue("user_id", userId)
+            .addKeyValue("latency_ms", elapsedNanos / 1_000_000.0)
+            .addKeyValue("sql_count", statements)
+            .log();
+    }
+
+    private Category categorize(HttpServletRequest request, int status, long elapsedNanos) {
+        if (status >= 500) {
+            return Category.SERVER_ERROR;
+        }
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            return Category.SLOW;
+        }
+
+        if (status >= 400) {
+            return Category.CLIENT_ERROR;
+        }
+
+        if (request.getRequestURI().startsWith("/auth/")) {
+            return Category.AUTH;
+        }
+
+        String method = request.getMethod();
+
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+            ? Category.READ
+            : Category.WRITE;
+    }
+
+    private boolean sampled(Category category) {
+        double rate = sampleRates[category.ordinal()];
+
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Sampling categories, checked in this order: a slow failed write counts
+     * as a server error.
+     */
+    private enum Category {
+        SERVER_ERROR,
+        SLOW,
+        CLIENT_ERROR,
+        AUTH,
+        WRITE,
+        READ
+    }
+
+}
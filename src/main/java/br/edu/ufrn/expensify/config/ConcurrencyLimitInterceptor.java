@@ -0,0 +1,81 @@
+package br.edu.ufrn.expensify.config;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+
+import br.edu.ufrn.expensify.ratelimit.ConcurrencyLimiter;
+import br.edu.ufrn.expensify.ratelimit.OverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load in front of the controllers once the adaptive limit is reached,
+ * before a request can wait for a database connection. Writes to transactions
+ * are critical and may use the whole limit; everything else only part of it.
+ * Streaming downloads hold a slot while they run but do not feed their latency
+ * to the limit, since it grows with the size of the download, not with load.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final String UNSAMPLED = ConcurrencyLimitInterceptor.class.getName() + ".unsampled";
+
+    private static final Set<String> STREAMING_PATHS = Set.of("/transactions/export");
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    public ConcurrencyLimitInterceptor(
+        @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+        @Value("${concurrency-limit.min-limit:10}") int minLimit,
+        @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+        @Value("${concurrency-limit.non-critical-share:0.75}") double nonCriticalShare
+    ) {
+        this.concurrencyLimiter = new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, nonCriticalShare);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        boolean critical = !HttpMethod.GET.matches(request.getMethod())
+            && !HttpMethod.HEAD.matches(request.getMethod())
+            && path.startsWith("/transactions");
+
+        ConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire(critical);
+
+        if (permit == null) {
+            throw new OverloadedException("Server is busy, try again shortly");
+        }
+
+        request.setAttribute(PERMIT, permit);
+
+        if (STREAMING_PATHS.contains(path)) {
+            request.setAttribute(UNSAMPLED, Boolean.TRUE);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof ConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(PERMIT);
+
+            if (request.getAttribute(UNSAMPLED) != null) {
+                permit.ignore();
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+}
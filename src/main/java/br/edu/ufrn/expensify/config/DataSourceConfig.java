@@ -0,0 +1,119 @@
+package br.edu.ufrn.expensify.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.transaction.autoconfigure.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import br.edu.ufrn.expensify.datasource.ReadWriteRoutingDataSource;
+import br.edu.ufrn.expensify.datasource.RecentWrites;
+import br.edu.ufrn.expensify.datasource.ReplicaSafeJpaTransactionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public RecentWrites recentWrites(
+        @Value("${datasource.replicas.urls:}") List<String> replicaUrls,
+        @Value("${datasource.read-your-writes.window:5s}") Duration window,
+        @Value("${datasource.read-your-writes.maximum-users:100000}") long maximumUsers
+    ) {
+        return replicaUrls.isEmpty() ? RecentWrites.disabled() : new RecentWrites(window, maximumUsers);
+    }
+
+    /**
+     * The primary pool from {@code spring.datasource}, routed so read-only
+     * transactions go to the replicas in {@code datasource.replicas.urls} when
+     * there are any. Replicas use the primary's driver, credentials unless set,
+     * and {@code spring.datasource.hikari} settings; their pools are read-only and
+     * named {@code replica-1}, {@code replica-2} and so on in the pool metrics.
+     * The bean is always defined here, so the decision holds under AOT too.
+     */
+    @Bean
+    public DataSource dataSource(
+        DataSourceProperties properties,
+        Environment environment,
+        MeterRegistry meterRegistry,
+        RecentWrites recentWrites,
+        @Value("${datasource.replicas.urls:}") List<String> replicaUrls,
+        @Value("${datasource.replicas.username:}") String replicaUsername,
+        @Value("${datasource.replicas.password:}") String replicaPassword
+    ) {
+        HikariDataSource primary = pool(properties.initializeDataSourceBuilder(), environment, meterRegistry);
+
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        if (replicaUrls.isEmpty()) {
+            return primary;
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+
+        for (String url : replicaUrls) {
+            HikariDataSource replica = pool(
+                DataSourceBuilder.create(properties.getClassLoader())
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(StringUtils.hasText(replicaUsername) ? replicaUsername : properties.determineUsername())
+                    .password(StringUtils.hasText(replicaPassword) ? replicaPassword : properties.determinePassword()),
+                environment,
+                meterRegistry
+            );
+
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        return ReadWriteRoutingDataSource.create(primary, replicas, recentWrites, meterRegistry);
+    }
+
+    /**
+     * Boot's JPA transaction manager, except that read-only transactions stop
+     * populating the second-level cache once they can be served by a replica.
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(
+        ObjectProvider<TransactionManagerCustomizers> customizers,
+        @Value("${datasource.replicas.urls:}") List<String> replicaUrls
+    ) {
+        JpaTransactionManager transactionManager = replicaUrls.isEmpty()
+            ? new JpaTransactionManager()
+            : new ReplicaSafeJpaTransactionManager();
+
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+
+        return transactionManager;
+    }
+
+    private static HikariDataSource pool(DataSourceBuilder<?> builder, Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = builder.type(HikariDataSource.class).build();
+
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        return pool;
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.edu.ufrn.expensify.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.service.AuthService;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Tags reads with the user's data version and answers a matching
+ * {@code If-None-Match} with 304 before the handler runs, so unchanged polls
+ * cost one primary key lookup. The version is read before the handler queries
+ * anything, which can only make a tag older than the body it labels, never newer.
+ */
+@Component
+public class DataVersionETagInterceptor implements HandlerInterceptor {
+
+    private final AuthService authService;
+    private final DataVersionService dataVersionService;
+
+    public DataVersionETagInterceptor(AuthService authService, DataVersionService dataVersionService) {
+        this.authService = authService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        User user = authService.getAuthenticatedUser();
+        String eTag = "W/\"" + dataVersionService.getVersion(user.getId()) + "\"";
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+
+}
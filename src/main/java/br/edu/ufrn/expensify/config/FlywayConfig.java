@@ -0,0 +1,26 @@
+package br.edu.ufrn.expensify.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Migrates on startup, except in a training run for the class data cache
+     * ({@code spring.context.exit=onRefresh}), which happens at image build time
+     * without a database. With AOT the Flyway beans are fixed at build time, so
+     * {@code spring.flyway.enabled} cannot be used to turn them off there.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${spring.context.exit:none}") String contextExit) {
+        return flyway -> {
+            if (!"onRefresh".equals(contextExit)) {
+                flyway.migrate();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,90 @@
+package br.edu.ufrn.expensify.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Caffeine caches backing the second-level cache, one per region with its
+     * own size and expiry. Hibernate is handed this cache manager and fails to
+     * start on a region it has no cache for, so every region is listed here.
+     * The update timestamps region is never evicted, as Hibernate requires.
+     *
+     * <p>The caches are local to the instance: a write through another instance
+     * is only seen here once the entry expires, so expiry bounds staleness when
+     * several instances run.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+        @Value("${hibernate-cache.users.maximum-size:10000}") long usersMaximumSize,
+        @Value("${hibernate-cache.users.expire-after-write:5m}") Duration usersExpireAfterWrite,
+        @Value("${hibernate-cache.queries.maximum-size:10000}") long queriesMaximumSize,
+        @Value("${hibernate-cache.queries.expire-after-write:1m}") Duration queriesExpireAfterWrite
+    ) {
+        // A URI of its own per context, since the provider shares managers by URI
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(
+            URI.create("expensify:hibernate-cache:" + UUID.randomUUID()),
+            HibernateCacheConfig.class.getClassLoader()
+        );
+
+        cacheManager.createCache(User.CACHE_REGION, region(usersMaximumSize, usersExpireAfterWrite));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queriesMaximumSize, queriesExpireAfterWrite));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>().setStatisticsEnabled(true));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Publishes size, hits, misses, puts and evictions of every region as the
+     * {@code cache.*} meters tagged with the region name. Hibernate's own view
+     * of the same regions is in the {@code hibernate.second.level.cache.*} and
+     * {@code hibernate.cache.query.*} meters.
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return meterRegistry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(meterRegistry, hibernateCacheManager.getCache(name));
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration expireAfterWrite) {
+        return new CaffeineConfiguration<>()
+            .setMaximumSize(OptionalLong.of(maximumSize))
+            .setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()))
+            .setStatisticsEnabled(true);
+    }
+
+}
@@ -2,6 +2,7 @@ package br.edu.ufrn.expensify.config;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -10,6 +11,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.auth.service.JwtService;
 import br.edu.ufrn.expensify.auth.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,16 +20,20 @@ import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    
+
     private final JwtService jwtService;
     private final UserService userService;
 
+    private final boolean stateless;
+
     public JwtAuthenticationFilter(
             JwtService jwtService,
-            UserService userService
+            UserService userService,
+            @Value("${jwt.stateless:true}") boolean stateless
     ) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.stateless = stateless;
     }
 
     @Override
@@ -44,21 +51,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        String username;
+        Claims claims;
 
         try {
-            username = jwtService.extractUsername(token);
-        } catch (Exception e) {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (username != null &&
+        if (claims.getSubject() != null &&
             SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            User user = userService.loadUserByUsername(username);
+            User user = resolveUser(claims);
 
-            if (jwtService.isTokenValid(token, user)) {
+            if (jwtService.isTokenValid(claims, user)) {
 
                 var authToken =
                         new UsernamePasswordAuthenticationToken(
@@ -75,4 +82,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private User resolveUser(Claims claims) {
+        if (stateless) {
+            User principal = jwtService.extractPrincipal(claims);
+
+            if (principal != null) {
+                return principal;
+            }
+        }
+
+        return userService.loadUserByUsername(claims.getSubject());
+    }
+
 }
@@ -0,0 +1,58 @@
+package br.edu.ufrn.expensify.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    /**
+     * Publishes a percentile histogram with buckets at the given service level
+     * objectives for each endpoint listed under {@code metrics.http.slo}, keyed
+     * by method and URI template, e.g. {@code "[GET /transactions]": 50ms,100ms}.
+     * Other endpoints keep the default, histogram-free timer.
+     */
+    @Bean
+    public MeterFilter httpSloMeterFilter(Environment environment) {
+        Map<String, Duration[]> slos = Binder.get(environment)
+            .bind("metrics.http.slo", Bindable.mapOf(String.class, Duration[].class))
+            .orElse(Map.of());
+
+        return new MeterFilter() {
+
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HTTP_SERVER_REQUESTS.equals(id.getName())) {
+                    return config;
+                }
+
+                Duration[] slo = slos.get(id.getTag("method") + " " + id.getTag("uri"));
+
+                if (slo == null) {
+                    return config;
+                }
+
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(true)
+                    .serviceLevelObjectives(Arrays.stream(slo).mapToDouble(Duration::toNanos).toArray())
+                    .build()
+                    .merge(config);
+            }
+
+        };
+    }
+
+}
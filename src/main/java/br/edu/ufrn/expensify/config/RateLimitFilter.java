@@ -0,0 +1,112 @@
+package br.edu.ufrn.expensify.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.ratelimit.RateLimiter;
+import br.edu.ufrn.expensify.record.ErrorResponse;
+import br.edu.ufrn.expensify.warmup.service.WarmUpRequests;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Limits each client per endpoint group, after {@link JwtAuthenticationFilter}
+ * has resolved the principal. Reads and writes are limited per user; login and
+ * registration, which come before any token, per remote address. Behind a
+ * proxy that address is the client's, taken from {@code X-Forwarded-For} by
+ * {@code server.forward-headers-strategy}; otherwise every client would share
+ * the proxy's bucket. Other unauthenticated requests pass through to be
+ * rejected by authorization. Requests sent by the warm-up are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter reads;
+    private final RateLimiter writes;
+    private final RateLimiter login;
+    private final ObjectMapper objectMapper;
+    private final WarmUpRequests warmUpRequests;
+
+    public RateLimitFilter(
+            @Value("${rate-limit.reads.capacity:200}") int readCapacity,
+            @Value("${rate-limit.reads.replenish-rate:50}") double readRate,
+            @Value("${rate-limit.writes.capacity:50}") int writeCapacity,
+            @Value("${rate-limit.writes.replenish-rate:10}") double writeRate,
+            @Value("${rate-limit.login.capacity:10}") int loginCapacity,
+            @Value("${rate-limit.login.replenish-rate:0.2}") double loginRate,
+            @Value("${rate-limit.maximum-clients:1000000}") long maximumClients,
+            ObjectMapper objectMapper,
+            WarmUpRequests warmUpRequests
+    ) {
+        this.reads = new RateLimiter(readCapacity, readRate, maximumClients, System::nanoTime);
+        this.writes = new RateLimiter(writeCapacity, writeRate, maximumClients, System::nanoTime);
+        this.login = new RateLimiter(loginCapacity, loginRate, maximumClients, System::nanoTime);
+        this.objectMapper = objectMapper;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long wait = tryAcquire(request);
+
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private long tryAcquire(HttpServletRequest request) {
+        String method = request.getMethod();
+
+        if (HttpMethod.OPTIONS.matches(method) || warmUpRequests.matches(request)) {
+            return 0;
+        }
+
+        if (HttpMethod.POST.matches(method)
+            && UrlPathHelper.defaultInstance.getPathWithinApplication(request).startsWith("/auth/")) {
+            return login.tryAcquire(request.getRemoteAddr());
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            return 0;
+        }
+
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+
+        return (read ? reads : writes).tryAcquire(user.getId());
+    }
+
+    private void reject(HttpServletResponse response, long wait) throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Too many requests"));
+    }
+
+}
@@ -1,5 +1,6 @@
 package br.edu.ufrn.expensify.config;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
@@ -7,9 +8,17 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import br.edu.ufrn.expensify.account.exception.AccountNotFoundException;
+import br.edu.ufrn.expensify.account.exception.InvalidDateRangeException;
 import br.edu.ufrn.expensify.auth.exception.UsernameAlreadyExistsException;
+import br.edu.ufrn.expensify.idempotency.exception.IdempotencyKeyInProgressException;
+import br.edu.ufrn.expensify.idempotency.exception.IdempotencyKeyReusedException;
+import br.edu.ufrn.expensify.idempotency.exception.InvalidIdempotencyKeyException;
+import br.edu.ufrn.expensify.pagination.InvalidCursorException;
+import br.edu.ufrn.expensify.ratelimit.OverloadedException;
 import br.edu.ufrn.expensify.record.ErrorResponse;
+import br.edu.ufrn.expensify.transaction.exception.InvalidBatchException;
 import br.edu.ufrn.expensify.transaction.exception.TransactionNotFoundException;
+import br.edu.ufrn.expensify.transaction.exception.UnsupportedExportFormatException;
 
 @RestControllerAdvice
 public class RestExceptionHandler {
@@ -21,6 +30,13 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRange(InvalidDateRangeException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(TransactionNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleTransactionNotFound(TransactionNotFoundException e) {
         ErrorResponse error = new ErrorResponse(e.getMessage());
@@ -35,6 +51,59 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidBatchException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatch(InvalidBatchException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedExportFormat(UnsupportedExportFormatException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(error);
+    }
+
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloaded(OverloadedException e) {
+        ErrorResponse error = new ErrorResponse(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException e) {
         ErrorResponse error = new ErrorResponse(e.getMessage());
@@ -3,8 +3,11 @@ package br.edu.ufrn.expensify.config;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
@@ -17,11 +20,16 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import br.edu.ufrn.expensify.idempotency.service.IdempotencyService;
+
 @Configuration
 public class SecurityConfig {
 
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -34,10 +42,38 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Actuator endpoints are served on {@code management.server.port}, which is
+     * meant to be reachable only from inside the deployment, by probes and the
+     * metrics scraper. Every request that reaches that server is let through;
+     * the application port does not map them and denies them like any other
+     * unauthenticated path.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(request -> WebServerApplicationContext.hasServerNamespace(
+                WebApplicationContextUtils.getWebApplicationContext(request.getServletContext()),
+                MANAGEMENT_NAMESPACE
+            ))
+            .csrf(csrf -> csrf.disable())
+            .formLogin(form -> form.disable())
+            .httpBasic(basic -> basic.disable())
+            .sessionManagement(session ->
+                session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
-            JwtAuthenticationFilter jwtAuthenticationFilter
+            JwtAuthenticationFilter jwtAuthenticationFilter,
+            RateLimitFilter rateLimitFilter,
+            AccessLogFilter accessLogFilter
     )
             throws Exception {
 
@@ -57,6 +93,14 @@ public class SecurityConfig {
             .addFilterBefore(
                 jwtAuthenticationFilter,
                 UsernamePasswordAuthenticationFilter.class
+            )
+            .addFilterAfter(
+                rateLimitFilter,
+                JwtAuthenticationFilter.class
+            )
+            .addFilterBefore(
+                accessLogFilter,
+                JwtAuthenticationFilter.class
             );
 
         return http.build();
@@ -71,6 +115,7 @@ public class SecurityConfig {
 		config.setAllowedOrigins(List.of(expensifyAppUrl));
 		config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
 		config.setAllowedHeaders(List.of("*"));
+		config.setExposedHeaders(List.of(HttpHeaders.ETAG, IdempotencyService.REPLAYED_HEADER));
 		config.setAllowCredentials(true);
 
 		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
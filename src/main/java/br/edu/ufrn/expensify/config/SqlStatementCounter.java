@@ -0,0 +1,25 @@
+package br.edu.ufrn.expensify.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread. Callers take
+ * the difference of {@link #current()} before and after a unit of work, so the
+ * counter never needs resetting. A JDBC batch counts as a single statement.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+
+        return sql;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+}
@@ -0,0 +1,36 @@
+package br.edu.ufrn.expensify.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final DataVersionETagInterceptor dataVersionETagInterceptor;
+
+    public WebConfig(
+        ConcurrencyLimitInterceptor concurrencyLimitInterceptor,
+        DataVersionETagInterceptor dataVersionETagInterceptor
+    ) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+        this.dataVersionETagInterceptor = dataVersionETagInterceptor;
+    }
+
+    /**
+     * The concurrency limit comes first so that shed requests cost nothing else.
+     * Conditional GETs cover the account and transaction lists and details, whose
+     * content changes only through writes that bump the data version. Balances as
+     * of a default date and exports are left out.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor);
+
+        registry.addInterceptor(dataVersionETagInterceptor)
+            .addPathPatterns("/accounts", "/accounts/*", "/transactions", "/transactions/*", "/transactions/*/*")
+            .excludePathPatterns("/transactions/export");
+    }
+
+}
@@ -0,0 +1,131 @@
+package br.edu.ufrn.expensify.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the
+ * primary. Connections are fetched lazily, once the transaction manager has
+ * marked them read-only, so the route is picked per transaction and a read-only
+ * transaction joining a read-write one stays on the primary's connection.
+ *
+ * <p>Each user sticks to one replica, picked by user id, so their reads never go
+ * back in time when a request lands on another replica, and the tag read by
+ * {@code DataVersionETagInterceptor} comes from the replica that serves the body.
+ * Users in {@link RecentWrites} read from the primary instead, and so do reads
+ * without a user, such as those of scheduled jobs: they run rarely, and a job
+ * working from a lagging replica would write results that are already stale.
+ *
+ * <p>Connections served for read-only transactions are counted as
+ * {@code expensify.datasource.reads}, tagged with the pool that served them.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+
+    private ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    /**
+     * Creates the data source and only then points it at its targets, so the
+     * proxy is fully constructed before anything sees it.
+     */
+    public static ReadWriteRoutingDataSource create(
+        HikariDataSource primary,
+        List<HikariDataSource> replicas,
+        RecentWrites recentWrites,
+        MeterRegistry meterRegistry
+    ) {
+        List<HikariDataSource> copy = List.copyOf(replicas);
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(primary, copy);
+
+        dataSource.setTargetDataSource(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaDataSource(primary, copy, recentWrites, meterRegistry));
+        dataSource.afterPropertiesSet();
+
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private static final class ReplicaDataSource extends AbstractDataSource {
+
+        private final HikariDataSource primary;
+        private final List<HikariDataSource> replicas;
+        private final RecentWrites recentWrites;
+        private final Counter primaryReads;
+        private final Counter[] replicaReads;
+
+        ReplicaDataSource(
+            HikariDataSource primary,
+            List<HikariDataSource> replicas,
+            RecentWrites recentWrites,
+            MeterRegistry meterRegistry
+        ) {
+            this.primary = primary;
+            this.replicas = replicas;
+            this.recentWrites = recentWrites;
+            this.primaryReads = counter(meterRegistry, primary);
+            this.replicaReads = replicas.stream()
+                .map(replica -> counter(meterRegistry, replica))
+                .toArray(Counter[]::new);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route().getConnection(username, password);
+        }
+
+        private HikariDataSource route() {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UUID userId = authentication != null && authentication.getPrincipal() instanceof User user
+                ? user.getId()
+                : null;
+
+            if (userId == null || recentWrites.contains(userId)) {
+                primaryReads.increment();
+                return primary;
+            }
+
+            int index = Math.floorMod(userId.hashCode(), replicas.size());
+
+            replicaReads[index].increment();
+
+            return replicas.get(index);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, HikariDataSource pool) {
+            return Counter.builder("expensify.datasource.reads")
+                .description("Connections served for read-only transactions")
+                .tag("pool", pool.getPoolName())
+                .register(meterRegistry);
+        }
+
+    }
+
+}
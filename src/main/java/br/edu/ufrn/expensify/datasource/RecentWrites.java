@@ -0,0 +1,68 @@
+package br.edu.ufrn.expensify.datasource;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Users who committed a write within the read-your-writes window. Their read-only
+ * transactions stay on the primary until the window has passed, so they never
+ * read from a replica that has not applied their own write yet.
+ *
+ * <p>Bounded by the number of users tracked; a user evicted early just loses the
+ * rest of the window. A non-positive window or maximum disables tracking.
+ */
+public class RecentWrites {
+
+    private final Cache<UUID, Boolean> cache;
+
+    public RecentWrites(Duration window, long maximumUsers) {
+        if (window.isNegative() || window.isZero() || maximumUsers <= 0) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumUsers)
+            .expireAfterWrite(window)
+            .build();
+    }
+
+    public static RecentWrites disabled() {
+        return new RecentWrites(Duration.ZERO, 0);
+    }
+
+    /**
+     * Starts the user's window once the surrounding transaction commits, or right
+     * away when there is none. A rolled back write leaves nothing to read.
+     */
+    public void recordAfterCommit(UUID userId) {
+        if (cache == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(userId, Boolean.TRUE);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                cache.put(userId, Boolean.TRUE);
+            }
+
+        });
+    }
+
+    public boolean contains(UUID userId) {
+        return cache != null && cache.getIfPresent(userId) != null;
+    }
+
+}
@@ -0,0 +1,29 @@
+package br.edu.ufrn.expensify.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps read-only transactions from filling the second-level cache. Those are
+ * served by a replica, which may lag behind the primary, and an entity loaded
+ * from it would then be handed to every later reader as if it were current.
+ * Read-only transactions still read from the cache; only writes and loads made
+ * by read-write transactions, which run on the primary, populate it.
+ */
+public class ReplicaSafeJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+
+        if (definition.isReadOnly()
+            && TransactionSynchronizationManager.getResource(obtainEntityManagerFactory()) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package br.edu.ufrn.expensify.idempotency.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Claim of an idempotency key by a user and, once the claiming request has
+ * finished, the response it produced. Rows are claimed and completed through
+ * native statements and only read through the entity.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@IdClass(IdempotencyRecordId.class)
+public class IdempotencyRecord {
+
+    @Id
+    private UUID userId;
+
+    @Id
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private String requestHash;
+
+    private Integer responseStatus;
+
+    private String responseBody;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.edu.ufrn.expensify.idempotency.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+public class IdempotencyRecordId implements Serializable {
+
+    private UUID userId;
+
+    private String idempotencyKey;
+
+    public IdempotencyRecordId() {}
+
+    public IdempotencyRecordId(UUID userId, String idempotencyKey) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof IdempotencyRecordId id
+            && Objects.equals(userId, id.userId)
+            && Objects.equals(idempotencyKey, id.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, idempotencyKey);
+    }
+
+}
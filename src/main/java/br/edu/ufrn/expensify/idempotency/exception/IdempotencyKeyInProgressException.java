@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.idempotency.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.idempotency.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.idempotency.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,7 @@
+package br.edu.ufrn.expensify.idempotency.record;
+
+/**
+ * Response recorded for an idempotency key, with the hash of the request that
+ * produced it so that a reused key can be told apart from a retry.
+ */
+public record StoredResponse(String requestHash, int status, String body) {}
@@ -0,0 +1,73 @@
+package br.edu.ufrn.expensify.idempotency.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufrn.expensify.idempotency.entity.IdempotencyRecord;
+import br.edu.ufrn.expensify.idempotency.entity.IdempotencyRecordId;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+
+    /**
+     * Claims the key for the calling request, unless another request claimed it
+     * first. Commits on its own so other instances see the claim right away.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @NativeQuery("""
+        insert into idempotency_keys (user_id, idempotency_key, request_hash, expires_at)
+        values (:userId, :idempotencyKey, :requestHash, :expiresAt)
+        on conflict do nothing
+        """)
+    int claim(UUID userId, String idempotencyKey, String requestHash, Instant expiresAt);
+
+    /**
+     * Records the response of the claiming request and keeps it until
+     * {@code expiresAt}, replacing the shorter expiry of the claim.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        update IdempotencyRecord r
+        set r.responseStatus = :responseStatus, r.responseBody = :responseBody, r.expiresAt = :expiresAt
+        where r.userId = :userId and r.idempotencyKey = :idempotencyKey
+        """)
+    int complete(UUID userId, String idempotencyKey, int responseStatus, String responseBody, Instant expiresAt);
+
+    /**
+     * Releases a claim whose request failed, so that a retry can run it again.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        delete from IdempotencyRecord r
+        where r.userId = :userId and r.idempotencyKey = :idempotencyKey and r.responseStatus is null
+        """)
+    int release(UUID userId, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        delete from IdempotencyRecord r
+        where r.userId = :userId and r.idempotencyKey = :idempotencyKey and r.expiresAt <= :now
+        """)
+    int deleteIfExpired(UUID userId, String idempotencyKey, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+    int deleteExpired(Instant now);
+
+}
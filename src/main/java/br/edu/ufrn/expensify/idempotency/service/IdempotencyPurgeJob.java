@@ -0,0 +1,29 @@
+package br.edu.ufrn.expensify.idempotency.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes expired idempotency keys, so the table only holds keys still in use.
+ */
+@Component
+public class IdempotencyPurgeJob {
+
+    private final Logger logger = LoggerFactory.getLogger(IdempotencyPurgeJob.class);
+
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyPurgeJob(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Scheduled(cron = "${idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int purged = idempotencyService.purgeExpired();
+
+        logger.info("Purged {} expired idempotency keys", purged);
+    }
+
+}
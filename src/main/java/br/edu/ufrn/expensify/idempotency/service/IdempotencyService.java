@@ -0,0 +1,291 @@
+package br.edu.ufrn.expensify.idempotency.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.edu.ufrn.expensify.auth.service.AuthService;
+import br.edu.ufrn.expensify.idempotency.entity.IdempotencyRecord;
+import br.edu.ufrn.expensify.idempotency.entity.IdempotencyRecordId;
+import br.edu.ufrn.expensify.idempotency.exception.IdempotencyKeyInProgressException;
+import br.edu.ufrn.expensify.idempotency.exception.IdempotencyKeyReusedException;
+import br.edu.ufrn.expensify.idempotency.exception.InvalidIdempotencyKeyException;
+import br.edu.ufrn.expensify.idempotency.record.StoredResponse;
+import br.edu.ufrn.expensify.idempotency.repository.IdempotencyRecordRepository;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Runs create requests at most once per user and {@code Idempotency-Key}, answering
+ * retries with the first response for as long as the key lives.
+ *
+ * <p>Responses are kept in a size-bounded memory cache in front of the
+ * {@code idempotency_keys} table. Duplicates arriving on this instance while the
+ * first request runs wait for its outcome, for a bounded time, instead of touching
+ * the table; across instances the table row claimed before running decides, and a
+ * duplicate that finds it still unfinished is turned away with a conflict. A claim
+ * only lives for {@code idempotency.claim-timeout} until its response is recorded,
+ * so a key whose instance died mid-request can be retried soon after.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final AuthService authService;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Duration inFlightWait;
+    private final Cache<IdempotencyRecordId, StoredResponse> responses;
+    private final ConcurrentMap<IdempotencyRecordId, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+        IdempotencyRecordRepository idempotencyRecordRepository,
+        AuthService authService,
+        ObjectMapper objectMapper,
+        @Value("${idempotency.ttl:24h}") Duration ttl,
+        @Value("${idempotency.claim-timeout:1m}") Duration claimTimeout,
+        @Value("${idempotency.in-flight-wait:10s}") Duration inFlightWait,
+        @Value("${idempotency.cache.maximum-size:10000}") long maximumSize
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.authService = authService;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.inFlightWait = inFlightWait;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Runs the action, or replays the response recorded for the key. Requests
+     * without a key always run.
+     *
+     * @param key the {@code Idempotency-Key} header, if any
+     * @param operation names the endpoint, so a key reused elsewhere is rejected
+     * @param request the request body, compared with the one that used the key first
+     */
+    public <T> ResponseEntity<T> execute(
+        String key,
+        String operation,
+        Object request,
+        TypeReference<T> responseType,
+        Supplier<ResponseEntity<T>> action
+    ) {
+        if (key == null) {
+            return action.get();
+        }
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        IdempotencyRecordId id = new IdempotencyRecordId(authService.getAuthenticatedUser().getId(), key);
+        String requestHash = hash(operation, request);
+
+        StoredResponse cached = responses.getIfPresent(id);
+
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, claim);
+
+        if (running != null) {
+            logger.info("Waiting for in-flight request with idempotency key: {}", key);
+
+            return replay(await(running, key), requestHash, responseType);
+        }
+
+        try {
+            StoredResponse previous = claimOrFind(id, requestHash);
+
+            if (previous != null) {
+                responses.put(id, previous);
+                claim.complete(previous);
+
+                return replay(previous, requestHash, responseType);
+            }
+
+            ResponseEntity<T> response = run(id, action);
+            StoredResponse stored = new StoredResponse(
+                requestHash,
+                response.getStatusCode().value(),
+                objectMapper.writeValueAsString(response.getBody())
+            );
+
+            record(id, stored);
+            claim.complete(stored);
+
+            return response;
+        } catch (RuntimeException e) {
+            claim.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, claim);
+        }
+    }
+
+    /**
+     * Deletes keys whose time to live has passed.
+     *
+     * @return the number of keys deleted
+     */
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return responses.stats();
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+
+    /**
+     * Claims the key in the table, taking over an expired claim, and returns null
+     * when this request now owns it. Otherwise returns the recorded response.
+     */
+    private StoredResponse claimOrFind(IdempotencyRecordId id, String requestHash) {
+        Instant now = Instant.now();
+
+        if (claimRow(id, requestHash, now)) {
+            return null;
+        }
+
+        if (idempotencyRecordRepository.deleteIfExpired(id.getUserId(), id.getIdempotencyKey(), now) > 0
+            && claimRow(id, requestHash, now)) {
+            return null;
+        }
+
+        IdempotencyRecord record = idempotencyRecordRepository.findById(id)
+            .filter(IdempotencyRecord::isCompleted)
+            .orElseThrow(() -> new IdempotencyKeyInProgressException(
+                "A request with this " + HEADER + " is still in progress"
+            ));
+
+        return new StoredResponse(record.getRequestHash(), record.getResponseStatus(), record.getResponseBody());
+    }
+
+    private boolean claimRow(IdempotencyRecordId id, String requestHash, Instant now) {
+        return idempotencyRecordRepository.claim(id.getUserId(), id.getIdempotencyKey(), requestHash, now.plus(claimTimeout)) > 0;
+    }
+
+    /**
+     * Runs the action, releasing the claim if it fails so that a retry runs it again.
+     */
+    private <T> ResponseEntity<T> run(IdempotencyRecordId id, Supplier<ResponseEntity<T>> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.release(id.getUserId(), id.getIdempotencyKey());
+            throw e;
+        }
+    }
+
+    /**
+     * Records the response of a request that already committed. Failing to write
+     * it must not fail the request, whose effects are in place; the claim then
+     * stays unfinished and turns away retries on other instances until it expires.
+     * Recording moves the expiry from the claim timeout to the full time to live.
+     */
+    private void record(IdempotencyRecordId id, StoredResponse stored) {
+        responses.put(id, stored);
+
+        try {
+            idempotencyRecordRepository.complete(
+                id.getUserId(),
+                id.getIdempotencyKey(),
+                stored.status(),
+                stored.body(),
+                Instant.now().plus(ttl)
+            );
+        } catch (DataAccessException e) {
+            logger.warn("Could not record response for idempotency key: {}", id.getIdempotencyKey(), e);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, TypeReference<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(HEADER + " was already used with a different request");
+        }
+
+        return ResponseEntity.status(stored.status())
+            .header(REPLAYED_HEADER, "true")
+            .body(objectMapper.readValue(stored.body(), responseType));
+    }
+
+    /**
+     * Waits for the request running with the same key on this instance. One that
+     * takes longer than {@code idempotency.in-flight-wait} is reported as still in
+     * progress rather than holding another request thread.
+     */
+    private StoredResponse await(CompletableFuture<StoredResponse> running, String key) {
+        try {
+            return running.get(inFlightWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            logger.info("Gave up waiting for in-flight request with idempotency key: {}", key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        throw new IdempotencyKeyInProgressException("A request with this " + HEADER + " is still in progress");
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
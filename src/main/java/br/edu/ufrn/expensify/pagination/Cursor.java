@@ -0,0 +1,80 @@
+package br.edu.ufrn.expensify.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position of the last row of a page. Transaction lists are ordered by
+ * (date, id) and carry both; account lists are ordered by id only and leave the
+ * date empty. Clients only ever see the opaque encoded form, and each list
+ * decodes it as the kind it issues, so a cursor taken from the other kind of
+ * list is rejected instead of paging from nowhere.
+ */
+public record Cursor(
+    LocalDate date,
+    UUID id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = (date == null ? "" : date.toString()) + SEPARATOR + id;
+
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the cursor of a list ordered by (date, id), rejecting one that
+     * carries no date, such as an account list cursor.
+     */
+    public static Cursor decodeDated(String token) {
+        Cursor cursor = decode(token);
+
+        if (cursor != null && cursor.date() == null) {
+            throw new InvalidCursorException(token);
+        }
+
+        return cursor;
+    }
+
+    /**
+     * Decodes the cursor of a list ordered by id only, rejecting one that carries
+     * a date, such as a transaction list cursor.
+     */
+    public static Cursor decodeUndated(String token) {
+        Cursor cursor = decode(token);
+
+        if (cursor != null && cursor.date() != null) {
+            throw new InvalidCursorException(token);
+        }
+
+        return cursor;
+    }
+
+    private static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+
+            String date = raw.substring(0, separator);
+            String id = raw.substring(separator + 1);
+
+            return new Cursor(
+                date.isEmpty() ? null : LocalDate.parse(date),
+                UUID.fromString(id)
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+}
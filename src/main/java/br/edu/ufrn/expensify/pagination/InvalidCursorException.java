@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.pagination;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid pagination cursor: " + cursor);
+    }
+
+}
@@ -0,0 +1,32 @@
+package br.edu.ufrn.expensify.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PageLimits {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PageLimits(
+        @Value("${pagination.default-page-size:50}") int defaultPageSize,
+        @Value("${pagination.max-page-size:500}") int maxPageSize
+    ) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Returns the page size for a request, falling back to the default and
+     * clamping to the configured maximum.
+     */
+    public int resolve(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+
+        return Math.clamp(requested, 1, maxPageSize);
+    }
+
+}
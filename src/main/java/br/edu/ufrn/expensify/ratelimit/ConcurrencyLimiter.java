@@ -0,0 +1,170 @@
+package br.edu.ufrn.expensify.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of requests in flight at a limit that follows observed
+ * latency, in the manner of a gradient limiter.
+ *
+ * <p>A short moving average of request latency is compared with the lowest
+ * latency seen over the last one to two baseline windows, which stands for the
+ * unloaded system. The minimum is kept per window of wall-clock time rather
+ * than per sample, so it follows a slower baseline at the same pace whatever
+ * the request rate, and sustained queueing cannot drag it up within seconds.
+ * While the average stays within
+ * tolerance of that minimum the limit grows by about its square root per
+ * sample; once queueing pushes it past, the limit shrinks in proportion. The
+ * limit only grows when at least half of it is in use, so a quiet period does
+ * not inflate it.
+ *
+ * <p>Admission is a compare-and-set on the in-flight count and never blocks.
+ * Neither does recording a sample: one that arrives while another is being
+ * recorded is dropped, which only thins out the samples under heavy load.
+ * Non-critical requests may only fill part of the limit, which leaves the rest
+ * for critical ones when the system is busy.
+ */
+public class ConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final long BASELINE_WINDOW = TimeUnit.SECONDS.toNanos(30);
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double nonCriticalShare;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile double limit;
+    private double shortLatency;
+    private double windowMinLatency = Double.MAX_VALUE;
+    private double previousWindowMinLatency = Double.MAX_VALUE;
+    private long windowStartedAt;
+    private boolean sampled;
+
+    /**
+     * @param nonCriticalShare fraction of the limit that non-critical requests may fill
+     */
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double nonCriticalShare) {
+        this(initialLimit, minLimit, maxLimit, nonCriticalShare, System::nanoTime);
+    }
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double nonCriticalShare, LongSupplier nanoClock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nonCriticalShare = nonCriticalShare;
+        this.nanoClock = nanoClock;
+        this.windowStartedAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Admits the request if the limit leaves room for it.
+     *
+     * @return a permit to release when the request completes, or null if it must
+     *         be turned away
+     */
+    public Permit tryAcquire(boolean critical) {
+        double current = limit;
+        int allowed = critical ? (int) current : Math.max(1, (int) (current * nonCriticalShare));
+
+        while (true) {
+            int busy = inFlight.get();
+
+            if (busy >= allowed) {
+                return null;
+            }
+
+            if (inFlight.compareAndSet(busy, busy + 1)) {
+                return new Permit(nanoClock.getAsLong(), busy + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long now, long latency, int busy) {
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+
+        try {
+            record(now, latency, busy);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    private void record(long now, long latency, int busy) {
+        if (!sampled) {
+            shortLatency = latency;
+            sampled = true;
+        }
+
+        if (now - windowStartedAt >= BASELINE_WINDOW) {
+            previousWindowMinLatency = windowMinLatency;
+            windowMinLatency = Double.MAX_VALUE;
+            windowStartedAt = now;
+        }
+
+        shortLatency += (latency - shortLatency) / SHORT_WINDOW;
+        windowMinLatency = Math.min(windowMinLatency, Math.max(1, latency));
+
+        double minLatency = Math.min(windowMinLatency, previousWindowMinLatency);
+        double current = limit;
+
+        if (busy < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * minLatency / shortLatency));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public final class Permit {
+
+        private final long startedAt;
+        private final int busy;
+
+        private Permit(long startedAt, int busy) {
+            this.startedAt = startedAt;
+            this.busy = busy;
+        }
+
+        /**
+         * Frees the slot and feeds the request's latency to the limit.
+         */
+        public void release() {
+            long now = nanoClock.getAsLong();
+
+            inFlight.decrementAndGet();
+            onSample(now, now - startedAt, busy);
+        }
+
+        /**
+         * Frees the slot without feeding the request's latency to the limit, for
+         * requests whose duration says nothing about load, such as downloads.
+         */
+        public void ignore() {
+            inFlight.decrementAndGet();
+        }
+
+    }
+
+}
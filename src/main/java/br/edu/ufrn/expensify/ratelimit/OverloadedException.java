@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.ratelimit;
+
+public class OverloadedException extends RuntimeException {
+
+    public OverloadedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,108 @@
+package br.edu.ufrn.expensify.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token buckets keyed by client, all with the same capacity and replenish rate.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it
+ * will be full again, advanced by one token's worth of time per admitted
+ * request with a compare-and-set (the GCRA form of a token bucket). A bucket
+ * left idle until it is full is indistinguishable from a new one, so buckets
+ * expire after that long without access; the client bound caps memory on top.
+ *
+ * <p>A non-positive capacity disables the limiter and every request is admitted.
+ */
+public class RateLimiter {
+
+    private final LongSupplier clock;
+    private final long interval;
+    private final long window;
+    private final Cache<Object, AtomicLong> buckets;
+
+    /**
+     * @param capacity requests a client may burst after being idle
+     * @param replenishRate tokens returned to each bucket per second
+     * @param maximumClients buckets kept at most, least recently used dropped first
+     * @param clock nanosecond time source, {@link System#nanoTime()} outside tests
+     */
+    public RateLimiter(int capacity, double replenishRate, long maximumClients, LongSupplier clock) {
+        this.clock = clock;
+
+        if (capacity <= 0) {
+            this.interval = 0;
+            this.window = 0;
+            this.buckets = null;
+            return;
+        }
+
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / replenishRate));
+        this.window = Math.multiplyExact(interval, (long) capacity);
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumClients)
+            .expireAfterAccess(Duration.ofNanos(window))
+            .ticker(clock::getAsLong)
+            .build();
+    }
+
+    public static RateLimiter disabled() {
+        return new RateLimiter(0, 0, 0, System::nanoTime);
+    }
+
+    public boolean isEnabled() {
+        return buckets != null;
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @return zero if the request is admitted, otherwise the nanoseconds until
+     *         the bucket holds a token again
+     */
+    public long tryAcquire(Object client) {
+        if (buckets == null) {
+            return 0;
+        }
+
+        AtomicLong bucket = buckets.get(client, RateLimiter::newBucket);
+        long now = clock.getAsLong();
+
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + interval;
+            long wait = next - now - window;
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of buckets held, after dropping the expired ones.
+     */
+    public long size() {
+        if (buckets == null) {
+            return 0;
+        }
+
+        buckets.cleanUp();
+
+        return buckets.estimatedSize();
+    }
+
+    private static AtomicLong newBucket(Object client) {
+        return new AtomicLong(Long.MIN_VALUE);
+    }
+
+}
@@ -0,0 +1,30 @@
+package br.edu.ufrn.expensify.record;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import br.edu.ufrn.expensify.pagination.Cursor;
+
+public record PageResponse<T>(
+    List<T> items,
+    @JsonProperty("next_cursor") String nextCursor
+) {
+
+    /**
+     * Builds a page from rows fetched with one extra row beyond the limit. The
+     * extra row only signals that another page exists and is not returned.
+     */
+    public static <T> PageResponse<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<T> page = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasNext
+            ? cursorOf.apply(page.getLast()).encode()
+            : null;
+
+        return new PageResponse<>(List.copyOf(page), nextCursor);
+    }
+
+}
@@ -0,0 +1,49 @@
+package br.edu.ufrn.expensify.report.controller;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ufrn.expensify.report.entity.MonthlyRollup;
+import br.edu.ufrn.expensify.report.record.MonthlyRollupResponse;
+import br.edu.ufrn.expensify.report.service.MonthlyRollupService;
+
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    public ReportController(MonthlyRollupService monthlyRollupService) {
+        this.monthlyRollupService = monthlyRollupService;
+    }
+
+    @GetMapping("/monthly")
+    public ResponseEntity<List<MonthlyRollupResponse>> getMonthlyReport(
+        @RequestParam(required = false) YearMonth from,
+        @RequestParam(required = false) YearMonth to
+    ) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+
+        List<MonthlyRollup> rollups = monthlyRollupService.getMonthlyRollups(start, end);
+
+        List<MonthlyRollupResponse> response = rollups.stream()
+            .map(rollup -> new MonthlyRollupResponse(
+                YearMonth.from(rollup.getMonth()),
+                rollup.getAccountId(),
+                rollup.getIncomeTotal(),
+                rollup.getExpenseTotal(),
+                rollup.getTransferInTotal(),
+                rollup.getTransferOutTotal()))
+            .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+}
@@ -0,0 +1,72 @@
+package br.edu.ufrn.expensify.report.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Totals of one account for one calendar month, keyed by the first day of the
+ * month. Rows are only ever changed by adding deltas, never rewritten from the
+ * entity, so the mapping carries plain ids rather than associations.
+ */
+@Entity
+@Table(name = "monthly_rollups")
+@IdClass(MonthlyRollupId.class)
+public class MonthlyRollup {
+
+    @Id
+    private UUID accountId;
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate month;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Double incomeTotal;
+
+    @Column(nullable = false)
+    private Double expenseTotal;
+
+    @Column(nullable = false)
+    private Double transferInTotal;
+
+    @Column(nullable = false)
+    private Double transferOutTotal;
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Double getIncomeTotal() {
+        return incomeTotal;
+    }
+
+    public Double getExpenseTotal() {
+        return expenseTotal;
+    }
+
+    public Double getTransferInTotal() {
+        return transferInTotal;
+    }
+
+    public Double getTransferOutTotal() {
+        return transferOutTotal;
+    }
+
+}
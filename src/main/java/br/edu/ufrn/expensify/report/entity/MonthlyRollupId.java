@@ -0,0 +1,41 @@
+package br.edu.ufrn.expensify.report.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+public class MonthlyRollupId implements Serializable {
+
+    private UUID accountId;
+
+    private LocalDate month;
+
+    public MonthlyRollupId() {}
+
+    public MonthlyRollupId(UUID accountId, LocalDate month) {
+        this.accountId = accountId;
+        this.month = month;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof MonthlyRollupId id
+            && Objects.equals(accountId, id.accountId)
+            && Objects.equals(month, id.month);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, month);
+    }
+
+}
@@ -0,0 +1,15 @@
+package br.edu.ufrn.expensify.report.record;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MonthlyRollupResponse(
+    YearMonth month,
+    @JsonProperty("account_id") UUID accountId,
+    @JsonProperty("income_total") Double incomeTotal,
+    @JsonProperty("expense_total") Double expenseTotal,
+    @JsonProperty("transfer_in_total") Double transferInTotal,
+    @JsonProperty("transfer_out_total") Double transferOutTotal
+) {}
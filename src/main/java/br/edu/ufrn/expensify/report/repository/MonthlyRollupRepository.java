@@ -0,0 +1,87 @@
+package br.edu.ufrn.expensify.report.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufrn.expensify.report.entity.MonthlyRollup;
+import br.edu.ufrn.expensify.report.entity.MonthlyRollupId;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    @Query("""
+        select r from MonthlyRollup r
+        where r.userId = :userId and r.month between :from and :to
+        order by r.month, r.accountId
+        """)
+    List<MonthlyRollup> findByUserIdAndMonthBetween(UUID userId, LocalDate from, LocalDate to);
+
+    /**
+     * Creates the zeroed row for an account and month unless it already exists,
+     * so the increment that follows always has a row to update.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_rollups"))
+    @NativeQuery("""
+        insert into monthly_rollups (account_id, month_start, user_id)
+        values (:accountId, :month, :userId)
+        on conflict do nothing
+        """)
+    int insertIfAbsent(UUID accountId, LocalDate month, UUID userId);
+
+    @Modifying
+    @Query("""
+        update MonthlyRollup r
+        set r.incomeTotal = r.incomeTotal + :income,
+            r.expenseTotal = r.expenseTotal + :expense,
+            r.transferInTotal = r.transferInTotal + :transferIn,
+            r.transferOutTotal = r.transferOutTotal + :transferOut
+        where r.accountId = :accountId and r.month = :month
+        """)
+    int addToTotals(UUID accountId, LocalDate month, Double income, Double expense, Double transferIn, Double transferOut);
+
+    // Rebuild
+
+    @Modifying
+    @Query("delete from MonthlyRollup r where r.userId = :userId")
+    int deleteByUserId(UUID userId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_rollups"))
+    @NativeQuery("""
+        insert into monthly_rollups (account_id, month_start, user_id, income_total, expense_total, transfer_in_total, transfer_out_total)
+        select r.account_id, r.month_start, :userId, sum(r.income), sum(r.expense), sum(r.transfer_in), sum(r.transfer_out)
+        from (
+            select i.account_id, cast(date_trunc('month', t.date) as date) as month_start,
+                   t.amount as income, cast(0 as double precision) as expense,
+                   cast(0 as double precision) as transfer_in, cast(0 as double precision) as transfer_out
+            from transactions t join incomes i on i.id = t.id
+            where t.user_id = :userId
+            union all
+            select e.account_id, cast(date_trunc('month', t.date) as date), 0, t.amount, 0, 0
+            from transactions t join expenses e on e.id = t.id
+            where t.user_id = :userId
+            union all
+            select tr.destination_account_id, cast(date_trunc('month', t.date) as date), 0, 0, t.amount, 0
+            from transactions t join transfers tr on tr.id = t.id
+            where t.user_id = :userId
+            union all
+            select tr.source_account_id, cast(date_trunc('month', t.date) as date), 0, 0, 0, t.amount
+            from transactions t join transfers tr on tr.id = t.id
+            where t.user_id = :userId
+        ) r
+        group by r.account_id, r.month_start
+        """)
+    int insertFromTransactions(UUID userId);
+
+}
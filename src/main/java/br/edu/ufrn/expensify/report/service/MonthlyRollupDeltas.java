@@ -0,0 +1,60 @@
+package br.edu.ufrn.expensify.report.service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.report.entity.MonthlyRollupId;
+
+/**
+ * Accumulates the rollup changes of one write, merged per account and month.
+ * Entries are kept in account id order, the same order balance updates lock
+ * accounts in, so concurrent writers touch rollup rows in a consistent order.
+ */
+public class MonthlyRollupDeltas {
+
+    static final int INCOME = 0;
+    static final int EXPENSE = 1;
+    static final int TRANSFER_IN = 2;
+    static final int TRANSFER_OUT = 3;
+
+    private static final Comparator<MonthlyRollupId> ORDER = Comparator
+        .comparing(MonthlyRollupId::getAccountId, Account.ID_ORDER)
+        .thenComparing(MonthlyRollupId::getMonth);
+
+    private final Map<MonthlyRollupId, double[]> deltas = new TreeMap<>(ORDER);
+
+    public MonthlyRollupDeltas income(UUID accountId, LocalDate date, double amount) {
+        return add(accountId, date, INCOME, amount);
+    }
+
+    public MonthlyRollupDeltas expense(UUID accountId, LocalDate date, double amount) {
+        return add(accountId, date, EXPENSE, amount);
+    }
+
+    public MonthlyRollupDeltas transfer(UUID sourceAccountId, UUID destinationAccountId, LocalDate date, double amount) {
+        add(sourceAccountId, date, TRANSFER_OUT, amount);
+
+        return add(destinationAccountId, date, TRANSFER_IN, amount);
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    Map<MonthlyRollupId, double[]> byAccountAndMonth() {
+        return deltas;
+    }
+
+    private MonthlyRollupDeltas add(UUID accountId, LocalDate date, int column, double amount) {
+        MonthlyRollupId id = new MonthlyRollupId(accountId, date.withDayOfMonth(1));
+
+        deltas.computeIfAbsent(id, key -> new double[4])[column] += amount;
+
+        return this;
+    }
+
+}
@@ -0,0 +1,38 @@
+package br.edu.ufrn.expensify.report.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically regenerates the rollups from raw rows to repair any drift. Disabled
+ * unless {@code reports.rollups.rebuild-cron} is set.
+ */
+@Component
+public class MonthlyRollupRebuildJob {
+
+    private final Logger logger = LoggerFactory.getLogger(MonthlyRollupRebuildJob.class);
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    public MonthlyRollupRebuildJob(MonthlyRollupService monthlyRollupService) {
+        this.monthlyRollupService = monthlyRollupService;
+    }
+
+    @Scheduled(cron = "${reports.rollups.rebuild-cron:-}")
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+
+        int users = monthlyRollupService.rebuildAll();
+
+        logger.info(
+            "Rebuilt monthly rollups for {} users in {} ms",
+            users,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)
+        );
+    }
+
+}
@@ -0,0 +1,152 @@
+package br.edu.ufrn.expensify.report.service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufrn.expensify.account.exception.InvalidDateRangeException;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.AuthService;
+import br.edu.ufrn.expensify.report.entity.MonthlyRollup;
+import br.edu.ufrn.expensify.report.entity.MonthlyRollupId;
+import br.edu.ufrn.expensify.report.repository.MonthlyRollupRepository;
+
+@Service
+public class MonthlyRollupService {
+
+    private final Logger logger = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final AuthService authService;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkSize;
+    private final int rebuildParallelism;
+
+    public MonthlyRollupService(
+        MonthlyRollupRepository monthlyRollupRepository,
+        UserRepository userRepository,
+        AccountRepository accountRepository,
+        AuthService authService,
+        TransactionTemplate transactionTemplate,
+        @Value("${reports.rollups.rebuild-chunk-size:100}") int rebuildChunkSize,
+        @Value("${reports.rollups.rebuild-parallelism:4}") int rebuildParallelism
+    ) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.authService = authService;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    /**
+     * Returns the authenticated user's rollups for every account with activity
+     * between the two months, inclusive, ordered by month. The cost depends on
+     * the number of months and accounts, not on the number of transactions.
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyRollup> getMonthlyRollups(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("from must not be after to");
+        }
+
+        User user = authService.getAuthenticatedUser();
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Fetching monthly rollups from {} to {} for user: {}", from, to, user.getUsername());
+        }
+
+        return monthlyRollupRepository.findByUserIdAndMonthBetween(user.getId(), from.atDay(1), to.atDay(1));
+    }
+
+    /**
+     * Adds the deltas to the user's rollups inside the caller's transaction, two
+     * statements per account and month touched.
+     */
+    @Transactional
+    public void apply(UUID userId, MonthlyRollupDeltas deltas) {
+        for (Map.Entry<MonthlyRollupId, double[]> entry : deltas.byAccountAndMonth().entrySet()) {
+            MonthlyRollupId id = entry.getKey();
+            double[] delta = entry.getValue();
+
+            monthlyRollupRepository.insertIfAbsent(id.getAccountId(), id.getMonth(), userId);
+            monthlyRollupRepository.addToTotals(
+                id.getAccountId(),
+                id.getMonth(),
+                delta[MonthlyRollupDeltas.INCOME],
+                delta[MonthlyRollupDeltas.EXPENSE],
+                delta[MonthlyRollupDeltas.TRANSFER_IN],
+                delta[MonthlyRollupDeltas.TRANSFER_OUT]
+            );
+        }
+    }
+
+    /**
+     * Regenerates every user's rollups from the raw transactions. Users are read
+     * in chunks and each chunk is rebuilt in its own transaction on a bounded
+     * pool, so the job never holds more connections than its parallelism.
+     *
+     * @return the number of users rebuilt
+     */
+    public int rebuildAll() {
+        List<Future<Integer>> chunks = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism)) {
+            List<UUID> userIds = userRepository.findFirstIds(Limit.of(rebuildChunkSize));
+
+            while (!userIds.isEmpty()) {
+                List<UUID> chunk = userIds;
+                chunks.add(executor.submit(() -> rebuildChunk(chunk)));
+
+                userIds = userRepository.findIdsAfter(chunk.getLast(), Limit.of(rebuildChunkSize));
+            }
+
+            int rebuilt = 0;
+
+            for (Future<Integer> chunk : chunks) {
+                rebuilt += chunk.get();
+            }
+
+            return rebuilt;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monthly rollup rebuild was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Monthly rollup rebuild failed", e.getCause());
+        }
+    }
+
+    private int rebuildChunk(List<UUID> userIds) {
+        transactionTemplate.executeWithoutResult(status -> userIds.forEach(this::rebuildUser));
+
+        logger.debug("Rebuilt monthly rollups for {} users", userIds.size());
+
+        return userIds.size();
+    }
+
+    private void rebuildUser(UUID userId) {
+        accountRepository.lockAllByUserId(userId);
+        monthlyRollupRepository.deleteByUserId(userId);
+        monthlyRollupRepository.insertFromTransactions(userId);
+    }
+
+}
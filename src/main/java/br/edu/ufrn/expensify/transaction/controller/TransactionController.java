@@ -1,29 +1,43 @@
 package br.edu.ufrn.expensify.transaction.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.edu.ufrn.expensify.account.entity.Account;
 import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.idempotency.service.IdempotencyService;
+import br.edu.ufrn.expensify.pagination.Cursor;
+import br.edu.ufrn.expensify.pagination.PageLimits;
+import br.edu.ufrn.expensify.record.PageResponse;
 import br.edu.ufrn.expensify.transaction.entity.Expense;
 import br.edu.ufrn.expensify.transaction.entity.Income;
 import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.export.ExportFormat;
+import br.edu.ufrn.expensify.transaction.export.TransactionExportWriter;
 import br.edu.ufrn.expensify.transaction.record.CreateExpenseRequest;
 import br.edu.ufrn.expensify.transaction.record.CreateIncomeRequest;
 import br.edu.ufrn.expensify.transaction.record.CreateTransferRequest;
 import br.edu.ufrn.expensify.transaction.record.ExpenseResponse;
 import br.edu.ufrn.expensify.transaction.record.IncomeResponse;
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
 import br.edu.ufrn.expensify.transaction.record.TransferResponse;
 import br.edu.ufrn.expensify.transaction.service.TransactionService;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/transactions")
@@ -31,29 +45,80 @@ public class TransactionController {
     
     private final TransactionService transactionService;
     private final AccountService accountService;
+    private final PageLimits pageLimits;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
 
     public TransactionController(
         TransactionService transactionService,
-        AccountService accountService
+        AccountService accountService,
+        PageLimits pageLimits,
+        ObjectMapper objectMapper,
+        IdempotencyService idempotencyService
     ) {
         this.transactionService = transactionService;
         this.accountService = accountService;
+        this.pageLimits = pageLimits;
+        this.objectMapper = objectMapper;
+        this.idempotencyService = idempotencyService;
+    }
+
+    // Feed endpoints
+
+    @GetMapping
+    public ResponseEntity<PageResponse<TransactionResponse>> retrieveTransactionFeed(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        int pageSize = pageLimits.resolve(limit);
+
+        List<TransactionResponse> transactions = transactionService.retrieveTransactionFeed(Cursor.decodeDated(cursor), pageSize + 1);
+
+        PageResponse<TransactionResponse> response = PageResponse.of(
+            transactions,
+            pageSize,
+            transaction -> new Cursor(transaction.date(), transaction.id())
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Export endpoints
+
+    @GetMapping("/export")
+    public void exportTransactions(
+        @RequestParam(defaultValue = "ndjson") String format,
+        HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.fileName() + "\"");
+
+        TransactionExportWriter writer = exportFormat.writer(response.getWriter(), objectMapper);
+
+        writer.writeHeader();
+        transactionService.exportAllTransactions(writer::write);
+        writer.flush();
     }
 
     // Income endpoints
 
     @GetMapping("/incomes")
-    public ResponseEntity<List<IncomeResponse>> retrieveAllIncomes() {
-        List<Income> incomes = transactionService.retrieveAllIncomes();
-
-        List<IncomeResponse> response = incomes.stream()
-            .map(income -> new IncomeResponse(
-                income.getId(),
-                income.getDescription(),
-                income.getAmount(),
-                income.getDate(),
-                income.getAccount().getId()))
-            .toList();
+    public ResponseEntity<PageResponse<IncomeResponse>> retrieveAllIncomes(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        int pageSize = pageLimits.resolve(limit);
+
+        List<IncomeResponse> incomes = transactionService.retrieveAllIncomes(Cursor.decodeDated(cursor), pageSize + 1);
+
+        PageResponse<IncomeResponse> response = PageResponse.of(
+            incomes,
+            pageSize,
+            income -> new Cursor(income.date(), income.id())
+        );
 
         return ResponseEntity.ok(response);
     }
@@ -62,38 +127,57 @@ public class TransactionController {
     public ResponseEntity<IncomeResponse> retrieveIncome(@PathVariable UUID id) {
         Income income = transactionService.retrieveIncome(id);
 
-        IncomeResponse response = new IncomeResponse(
-            income.getId(),
-            income.getDescription(),
-            income.getAmount(),
-            income.getDate(),
-            income.getAccount().getId()
-        );
+        IncomeResponse response = IncomeResponse.of(income);
 
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/incomes")
-    public ResponseEntity<IncomeResponse> createIncome(@RequestBody CreateIncomeRequest request) {
-        Account account = accountService.getAccountById(request.accountId());
-
-        Income income = new Income();
-        income.setDescription(request.description());
-        income.setAmount(request.amount());
-        income.setDate(request.date());
-        income.setAccount(account);
-
-        Income createdIncome = transactionService.createIncome(income);
-
-        IncomeResponse response = new IncomeResponse(
-            createdIncome.getId(),
-            createdIncome.getDescription(),
-            createdIncome.getAmount(),
-            createdIncome.getDate(),
-            createdIncome.getAccount().getId()
-        );
+    public ResponseEntity<IncomeResponse> createIncome(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        @RequestBody CreateIncomeRequest request
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /transactions/incomes", request, new TypeReference<>() {}, () -> {
+            Account account = accountService.getOwnedAccountReference(request.accountId());
+
+            Income income = new Income();
+            income.setDescription(request.description());
+            income.setAmount(request.amount());
+            income.setDate(request.date());
+            income.setAccount(account);
+
+            Income createdIncome = transactionService.createIncome(income);
+
+            IncomeResponse response = IncomeResponse.of(createdIncome);
 
-        return ResponseEntity.created(null).body(response);
+            return ResponseEntity.created(null).body(response);
+        });
+    }
+
+    @PostMapping("/incomes/batch")
+    public ResponseEntity<List<IncomeResponse>> createIncomes(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        @RequestBody List<CreateIncomeRequest> requests
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /transactions/incomes/batch", requests, new TypeReference<>() {}, () -> {
+            List<Income> incomes = requests.stream()
+                .map(request -> {
+                    Income income = new Income();
+                    income.setDescription(request.description());
+                    income.setAmount(request.amount());
+                    income.setDate(request.date());
+                    income.setAccount(accountReference(request.accountId()));
+
+                    return income;
+                })
+                .toList();
+
+            List<IncomeResponse> response = transactionService.createIncomes(incomes).stream()
+                .map(IncomeResponse::of)
+                .toList();
+
+            return ResponseEntity.created(null).body(response);
+        });
     }
 
     @DeleteMapping("/incomes/{id}")
@@ -108,17 +192,19 @@ public class TransactionController {
     // Expense endpoints
 
     @GetMapping("/expenses")
-    public ResponseEntity<List<ExpenseResponse>> retrieveAllExpenses() {
-        List<Expense> expenses = transactionService.retrieveAllExpenses();
-
-        List<ExpenseResponse> response = expenses.stream()
-            .map(expense -> new ExpenseResponse(
-                expense.getId(),
-                expense.getDescription(),
-                expense.getAmount(),
-                expense.getDate(),
-                expense.getAccount().getId()))
-            .toList();
+    public ResponseEntity<PageResponse<ExpenseResponse>> retrieveAllExpenses(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        int pageSize = pageLimits.resolve(limit);
+
+        List<ExpenseResponse> expenses = transactionService.retrieveAllExpenses(Cursor.decodeDated(cursor), pageSize + 1);
+
+        PageResponse<ExpenseResponse> response = PageResponse.of(
+            expenses,
+            pageSize,
+            expense -> new Cursor(expense.date(), expense.id())
+        );
 
         return ResponseEntity.ok(response);
     }
@@ -127,38 +213,57 @@ public class TransactionController {
     public ResponseEntity<ExpenseResponse> retrieveExpense(@PathVariable UUID id) {
         Expense expense = transactionService.retrieveExpense(id);
 
-        ExpenseResponse response = new ExpenseResponse(
-            expense.getId(),
-            expense.getDescription(),
-            expense.getAmount(),
-            expense.getDate(),
-            expense.getAccount().getId()
-        );
+        ExpenseResponse response = ExpenseResponse.of(expense);
 
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/expenses")
-    public ResponseEntity<ExpenseResponse> createExpense(@RequestBody CreateExpenseRequest request) {
-        Account account = accountService.getAccountById(request.accountId());
-
-        Expense expense = new Expense();
-        expense.setDescription(request.description());
-        expense.setAmount(request.amount());
-        expense.setDate(request.date());
-        expense.setAccount(account);
-
-        Expense createdExpense = transactionService.createExpense(expense);
-
-        ExpenseResponse response = new ExpenseResponse(
-            createdExpense.getId(),
-            createdExpense.getDescription(),
-            createdExpense.getAmount(),
-            createdExpense.getDate(),
-            createdExpense.getAccount().getId()
-        );
+    public ResponseEntity<ExpenseResponse> createExpense(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        @RequestBody CreateExpenseRequest request
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /transactions/expenses", request, new TypeReference<>() {}, () -> {
+            Account account = accountService.getOwnedAccountReference(request.accountId());
 
-        return ResponseEntity.created(null).body(response);
+            Expense expense = new Expense();
+            expense.setDescription(request.description());
+            expense.setAmount(request.amount());
+            expense.setDate(request.date());
+            expense.setAccount(account);
+
+            Expense createdExpense = transactionService.createExpense(expense);
+
+            ExpenseResponse response = ExpenseResponse.of(createdExpense);
+
+            return ResponseEntity.created(null).body(response);
+        });
+    }
+
+    @PostMapping("/expenses/batch")
+    public ResponseEntity<List<ExpenseResponse>> createExpenses(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        @RequestBody List<CreateExpenseRequest> requests
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /transactions/expenses/batch", requests, new TypeReference<>() {}, () -> {
+            List<Expense> expenses = requests.stream()
+                .map(request -> {
+                    Expense expense = new Expense();
+                    expense.setDescription(request.description());
+                    expense.setAmount(request.amount());
+                    expense.setDate(request.date());
+                    expense.setAccount(accountReference(request.accountId()));
+
+                    return expense;
+                })
+                .toList();
+
+            List<ExpenseResponse> response = transactionService.createExpenses(expenses).stream()
+                .map(ExpenseResponse::of)
+                .toList();
+
+            return ResponseEntity.created(null).body(response);
+        });
     }
 
     @DeleteMapping("/expenses/{id}")
@@ -173,18 +278,19 @@ public class TransactionController {
     // Transfer endpoints
 
     @GetMapping("/transfers")
-    public ResponseEntity<List<TransferResponse>> retrieveAllTransfers() {
-        List<Transfer> transfers = transactionService.retrieveAllTransfers();
-
-        List<TransferResponse> response = transfers.stream()
-            .map(transfer -> new TransferResponse(
-                transfer.getId(),
-                transfer.getDescription(),
-                transfer.getAmount(),
-                transfer.getDate(),
-                transfer.getSourceAccount().getId(),
-                transfer.getDestinationAccount().getId()))
-            .toList();
+    public ResponseEntity<PageResponse<TransferResponse>> retrieveAllTransfers(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        int pageSize = pageLimits.resolve(limit);
+
+        List<TransferResponse> transfers = transactionService.retrieveAllTransfers(Cursor.decodeDated(cursor), pageSize + 1);
+
+        PageResponse<TransferResponse> response = PageResponse.of(
+            transfers,
+            pageSize,
+            transfer -> new Cursor(transfer.date(), transfer.id())
+        );
 
         return ResponseEntity.ok(response);
     }
@@ -193,42 +299,60 @@ public class TransactionController {
     public ResponseEntity<TransferResponse> retrieveTransfer(@PathVariable UUID id) {
         Transfer transfer = transactionService.retrieveTransfer(id);
 
-        TransferResponse response = new TransferResponse(
-            transfer.getId(),
-            transfer.getDescription(),
-            transfer.getAmount(),
-            transfer.getDate(),
-            transfer.getSourceAccount().getId(),
-            transfer.getDestinationAccount().getId()
-        );
+        TransferResponse response = TransferResponse.of(transfer);
 
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/transfers")
-    public ResponseEntity<TransferResponse> createTransfer(@RequestBody CreateTransferRequest request) {
-        Account sourceAccount = accountService.getAccountById(request.sourceAccountId());
-        Account destinationAccount = accountService.getAccountById(request.destinationAccountId());
-
-        Transfer transfer = new Transfer();
-        transfer.setDescription(request.description());
-        transfer.setAmount(request.amount());
-        transfer.setDate(request.date());
-        transfer.setSourceAccount(sourceAccount);
-        transfer.setDestinationAccount(destinationAccount);
-
-        Transfer createdTransfer = transactionService.createTransfer(transfer);
-
-        TransferResponse response = new TransferResponse(
-            createdTransfer.getId(),
-            createdTransfer.getDescription(),
-            createdTransfer.getAmount(),
-            createdTransfer.getDate(),
-            createdTransfer.getSourceAccount().getId(),
-            createdTransfer.getDestinationAccount().getId()
-        );
+    public ResponseEntity<TransferResponse> createTransfer(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        @RequestBody CreateTransferRequest request
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /transactions/transfers", request, new TypeReference<>() {}, () -> {
+            Account sourceAccount = accountService.getAccountReference(request.sourceAccountId());
+            Account destinationAccount = accountService.getAccountReference(request.destinationAccountId());
+
+            Transfer transfer = new Transfer();
+            transfer.setDescription(request.description());
+            transfer.setAmount(request.amount());
+            transfer.setDate(request.date());
+            transfer.setSourceAccount(sourceAccount);
+            transfer.setDestinationAccount(destinationAccount);
 
-        return ResponseEntity.created(null).body(response);
+            Transfer createdTransfer = transactionService.createTransfer(transfer);
+
+            TransferResponse response = TransferResponse.of(createdTransfer);
+
+            return ResponseEntity.created(null).body(response);
+        });
+    }
+
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<List<TransferResponse>> createTransfers(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        @RequestBody List<CreateTransferRequest> requests
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /transactions/transfers/batch", requests, new TypeReference<>() {}, () -> {
+            List<Transfer> transfers = requests.stream()
+                .map(request -> {
+                    Transfer transfer = new Transfer();
+                    transfer.setDescription(request.description());
+                    transfer.setAmount(request.amount());
+                    transfer.setDate(request.date());
+                    transfer.setSourceAccount(accountReference(request.sourceAccountId()));
+                    transfer.setDestinationAccount(accountReference(request.destinationAccountId()));
+
+                    return transfer;
+                })
+                .toList();
+
+            List<TransferResponse> response = transactionService.createTransfers(transfers).stream()
+                .map(TransferResponse::of)
+                .toList();
+
+            return ResponseEntity.created(null).body(response);
+        });
     }
 
     @DeleteMapping("/transfers/{id}")
@@ -240,4 +364,8 @@ public class TransactionController {
         return ResponseEntity.noContent().build();
     }
 
+    private Account accountReference(UUID accountId) {
+        return accountId == null ? null : accountService.getAccountReference(accountId);
+    }
+
 }
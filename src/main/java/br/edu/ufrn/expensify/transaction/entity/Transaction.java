@@ -7,6 +7,9 @@ import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,6 +17,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -23,7 +27,29 @@ import jakarta.validation.constraints.Positive;
 @Entity
 @Table(name = "transactions")
 @Inheritance(strategy = InheritanceType.JOINED)
+@SqlResultSetMapping(
+    name = Transaction.FEED_MAPPING,
+    classes = @ConstructorResult(
+        targetClass = TransactionResponse.class,
+        columns = {
+            @ColumnResult(name = "id", type = UUID.class),
+            @ColumnResult(name = "type", type = TransactionType.class),
+            @ColumnResult(name = "description", type = String.class),
+            @ColumnResult(name = "amount", type = Double.class),
+            @ColumnResult(name = "date", type = LocalDate.class),
+            @ColumnResult(name = "account_id", type = UUID.class),
+            @ColumnResult(name = "source_account_id", type = UUID.class),
+            @ColumnResult(name = "destination_account_id", type = UUID.class)
+        }
+    )
+)
 public class Transaction {
+
+    /**
+     * Maps rows of the native transaction feed and export to responses with
+     * explicit column types, which drivers do not agree on for UUID columns.
+     */
+    public static final String FEED_MAPPING = "TransactionFeed";
     
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
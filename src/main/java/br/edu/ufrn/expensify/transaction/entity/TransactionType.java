@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.transaction.entity;
+
+public enum TransactionType {
+
+    INCOME,
+    EXPENSE,
+    TRANSFER;
+
+}
@@ -0,0 +1,18 @@
+package br.edu.ufrn.expensify.transaction.exception;
+
+import java.util.List;
+
+public class InvalidBatchException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public InvalidBatchException(List<String> errors) {
+        super("Invalid batch: " + String.join("; ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+}
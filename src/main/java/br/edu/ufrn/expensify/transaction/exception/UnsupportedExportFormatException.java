@@ -0,0 +1,9 @@
+package br.edu.ufrn.expensify.transaction.exception;
+
+public class UnsupportedExportFormatException extends RuntimeException {
+
+    public UnsupportedExportFormatException(String format) {
+        super("Unsupported export format: " + format);
+    }
+
+}
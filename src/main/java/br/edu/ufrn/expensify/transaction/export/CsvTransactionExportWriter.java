@@ -0,0 +1,78 @@
+package br.edu.ufrn.expensify.transaction.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
+
+public class CsvTransactionExportWriter implements TransactionExportWriter {
+
+    private static final String HEADER =
+        "id,type,description,amount,date,account_id,source_account_id,destination_account_id\n";
+
+    private final Writer out;
+
+    public CsvTransactionExportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() {
+        try {
+            out.write(HEADER);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void write(TransactionResponse row) {
+        try {
+            out.write(String.valueOf(row.id()));
+            out.write(',');
+            out.write(row.type().name());
+            out.write(',');
+            out.write(escape(row.description()));
+            out.write(',');
+            out.write(String.valueOf(row.amount()));
+            out.write(',');
+            out.write(String.valueOf(row.date()));
+            out.write(',');
+            out.write(valueOrEmpty(row.accountId()));
+            out.write(',');
+            out.write(valueOrEmpty(row.sourceAccountId()));
+            out.write(',');
+            out.write(valueOrEmpty(row.destinationAccountId()));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String valueOrEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.edu.ufrn.expensify.transaction.export;
+
+import java.io.Writer;
+
+import br.edu.ufrn.expensify.transaction.exception.UnsupportedExportFormatException;
+import tools.jackson.databind.ObjectMapper;
+
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileName() {
+        return "transactions." + extension;
+    }
+
+    public TransactionExportWriter writer(Writer out, ObjectMapper objectMapper) {
+        return switch (this) {
+            case NDJSON -> new NdjsonTransactionExportWriter(out, objectMapper);
+            case CSV -> new CsvTransactionExportWriter(out);
+        };
+    }
+
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+
+        throw new UnsupportedExportFormatException(name);
+    }
+
+}
@@ -0,0 +1,44 @@
+package br.edu.ufrn.expensify.transaction.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+public class NdjsonTransactionExportWriter implements TransactionExportWriter {
+
+    private final Writer out;
+    private final ObjectWriter rowWriter;
+
+    public NdjsonTransactionExportWriter(Writer out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.rowWriter = objectMapper.writerFor(TransactionResponse.class);
+    }
+
+    @Override
+    public void writeHeader() {
+    }
+
+    @Override
+    public void write(TransactionResponse row) {
+        try {
+            out.write(rowWriter.writeValueAsString(row));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
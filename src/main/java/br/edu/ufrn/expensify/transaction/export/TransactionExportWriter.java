@@ -0,0 +1,18 @@
+package br.edu.ufrn.expensify.transaction.export;
+
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
+
+/**
+ * Writes export rows one at a time straight to the response. Implementations
+ * keep no state per row, so memory stays flat however long the history is.
+ * I/O failures surface as {@link java.io.UncheckedIOException}.
+ */
+public interface TransactionExportWriter {
+
+    void writeHeader();
+
+    void write(TransactionResponse row);
+
+    void flush();
+
+}
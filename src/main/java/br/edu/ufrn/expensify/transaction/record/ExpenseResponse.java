@@ -5,10 +5,24 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+
 public record ExpenseResponse(
     UUID id,
     String description,
     Double amount,
     LocalDate date,
     @JsonProperty("account_id") UUID accountId
-) {}
+) {
+
+    public static ExpenseResponse of(Expense expense) {
+        return new ExpenseResponse(
+            expense.getId(),
+            expense.getDescription(),
+            expense.getAmount(),
+            expense.getDate(),
+            expense.getAccount().getId()
+        );
+    }
+
+}
@@ -5,10 +5,24 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import br.edu.ufrn.expensify.transaction.entity.Income;
+
 public record IncomeResponse(
     UUID id,
     String description,
     Double amount,
     LocalDate date,
     @JsonProperty("account_id") UUID accountId
-) {}
+) {
+
+    public static IncomeResponse of(Income income) {
+        return new IncomeResponse(
+            income.getId(),
+            income.getDescription(),
+            income.getAmount(),
+            income.getDate(),
+            income.getAccount().getId()
+        );
+    }
+
+}
@@ -0,0 +1,21 @@
+package br.edu.ufrn.expensify.transaction.record;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import br.edu.ufrn.expensify.transaction.entity.TransactionType;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionResponse(
+    UUID id,
+    TransactionType type,
+    String description,
+    Double amount,
+    LocalDate date,
+    @JsonProperty("account_id") UUID accountId,
+    @JsonProperty("source_account_id") UUID sourceAccountId,
+    @JsonProperty("destination_account_id") UUID destinationAccountId
+) {}
@@ -5,6 +5,8 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+
 public record TransferResponse(
     UUID id,
     String description,
@@ -12,4 +14,17 @@ public record TransferResponse(
     LocalDate date,
     @JsonProperty("source_account_id") UUID sourceAccountId,
     @JsonProperty("destination_account_id") UUID destinationAccountId
-) {}
+) {
+
+    public static TransferResponse of(Transfer transfer) {
+        return new TransferResponse(
+            transfer.getId(),
+            transfer.getDescription(),
+            transfer.getAmount(),
+            transfer.getDate(),
+            transfer.getSourceAccount().getId(),
+            transfer.getDestinationAccount().getId()
+        );
+    }
+
+}
@@ -1,19 +1,38 @@
 package br.edu.ufrn.expensify.transaction.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.record.ExpenseResponse;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
     
-    public List<Expense> findAllByUser(User user);
+    @Query("""
+        select new br.edu.ufrn.expensify.transaction.record.ExpenseResponse(e.id, e.description, e.amount, e.date, e.account.id)
+        from Expense e
+        where e.user.id = :userId
+        order by e.date desc, e.id desc
+        """)
+    public List<ExpenseResponse> findFirstPageByUserId(UUID userId, Limit limit);
+
+    @Query("""
+        select new br.edu.ufrn.expensify.transaction.record.ExpenseResponse(e.id, e.description, e.amount, e.date, e.account.id)
+        from Expense e
+        where e.user.id = :userId
+          and (e.date < :date or (e.date = :date and e.id < :id))
+        order by e.date desc, e.id desc
+        """)
+    public List<ExpenseResponse> findPageByUserIdAfter(UUID userId, LocalDate date, UUID id, Limit limit);
 
     public Optional<Expense> findByIdAndUser(UUID id, User user);
 
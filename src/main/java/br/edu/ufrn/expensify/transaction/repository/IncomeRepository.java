@@ -1,19 +1,38 @@
 package br.edu.ufrn.expensify.transaction.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.record.IncomeResponse;
 
 @Repository
 public interface IncomeRepository extends JpaRepository<Income, UUID> {
     
-    public List<Income> findAllByUser(User user);
+    @Query("""
+        select new br.edu.ufrn.expensify.transaction.record.IncomeResponse(i.id, i.description, i.amount, i.date, i.account.id)
+        from Income i
+        where i.user.id = :userId
+        order by i.date desc, i.id desc
+        """)
+    public List<IncomeResponse> findFirstPageByUserId(UUID userId, Limit limit);
+
+    @Query("""
+        select new br.edu.ufrn.expensify.transaction.record.IncomeResponse(i.id, i.description, i.amount, i.date, i.account.id)
+        from Income i
+        where i.user.id = :userId
+          and (i.date < :date or (i.date = :date and i.id < :id))
+        order by i.date desc, i.id desc
+        """)
+    public List<IncomeResponse> findPageByUserIdAfter(UUID userId, LocalDate date, UUID id, Limit limit);
 
     public Optional<Income> findByIdAndUser(UUID id, User user);
 
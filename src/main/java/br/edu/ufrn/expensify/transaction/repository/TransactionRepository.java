@@ -1,20 +1,128 @@
 package br.edu.ufrn.expensify.transaction.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.transaction.entity.Transaction;
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
     
-    public List<Transaction> findAllByUser(User user);
-
     public Optional<Transaction> findByIdAndUser(UUID id, User user);
 
-}
\ No newline at end of file
+    /**
+     * Newest-first feed of all three kinds. Each branch reads one subtype table
+     * joined to its parent row and stops at {@code limit}, so the outer sort
+     * merges at most three short runs instead of walking the polymorphic join.
+     */
+    @NativeQuery(sqlResultSetMapping = Transaction.FEED_MAPPING, value = """
+        select feed.* from (
+            (select t.id, 'INCOME' as type, t.description, t.amount, t.date,
+                    x.account_id, cast(null as uuid) as source_account_id, cast(null as uuid) as destination_account_id
+             from transactions t
+             join incomes x on x.id = t.id
+             where t.user_id = :userId
+             order by t.date desc, t.id desc
+             limit :limit)
+            union all
+            (select t.id, 'EXPENSE' as type, t.description, t.amount, t.date,
+                    x.account_id, cast(null as uuid) as source_account_id, cast(null as uuid) as destination_account_id
+             from transactions t
+             join expenses x on x.id = t.id
+             where t.user_id = :userId
+             order by t.date desc, t.id desc
+             limit :limit)
+            union all
+            (select t.id, 'TRANSFER' as type, t.description, t.amount, t.date,
+                    cast(null as uuid) as account_id, x.source_account_id, x.destination_account_id
+             from transactions t
+             join transfers x on x.id = t.id
+             where t.user_id = :userId
+             order by t.date desc, t.id desc
+             limit :limit)
+        ) feed
+        order by feed.date desc, feed.id desc
+        limit :limit
+        """)
+    public List<TransactionResponse> findFeedFirstPage(UUID userId, int limit);
+
+    @NativeQuery(sqlResultSetMapping = Transaction.FEED_MAPPING, value = """
+        select feed.* from (
+            (select t.id, 'INCOME' as type, t.description, t.amount, t.date,
+                    x.account_id, cast(null as uuid) as source_account_id, cast(null as uuid) as destination_account_id
+             from transactions t
+             join incomes x on x.id = t.id
+             where t.user_id = :userId
+               and (t.date < :date or (t.date = :date and t.id < :id))
+             order by t.date desc, t.id desc
+             limit :limit)
+            union all
+            (select t.id, 'EXPENSE' as type, t.description, t.amount, t.date,
+                    x.account_id, cast(null as uuid) as source_account_id, cast(null as uuid) as destination_account_id
+             from transactions t
+             join expenses x on x.id = t.id
+             where t.user_id = :userId
+               and (t.date < :date or (t.date = :date and t.id < :id))
+             order by t.date desc, t.id desc
+             limit :limit)
+            union all
+            (select t.id, 'TRANSFER' as type, t.description, t.amount, t.date,
+                    cast(null as uuid) as account_id, x.source_account_id, x.destination_account_id
+             from transactions t
+             join transfers x on x.id = t.id
+             where t.user_id = :userId
+               and (t.date < :date or (t.date = :date and t.id < :id))
+             order by t.date desc, t.id desc
+             limit :limit)
+        ) feed
+        order by feed.date desc, feed.id desc
+        limit :limit
+        """)
+    public List<TransactionResponse> findFeedPageAfter(UUID userId, LocalDate date, UUID id, int limit);
+
+    /**
+     * Streams the user's history, oldest first, from a database cursor fetching
+     * rows in chunks. Rows are built from the subtype tables, so a transaction
+     * whose subtype row went with a deleted account is left out, and columns are
+     * projected so no account is loaded per row. Must be consumed inside a
+     * transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @NativeQuery(sqlResultSetMapping = Transaction.FEED_MAPPING, value = """
+        select history.* from (
+            select t.id, 'INCOME' as type, t.description, t.amount, t.date,
+                   x.account_id, cast(null as uuid) as source_account_id, cast(null as uuid) as destination_account_id
+            from transactions t
+            join incomes x on x.id = t.id
+            where t.user_id = :userId
+            union all
+            select t.id, 'EXPENSE' as type, t.description, t.amount, t.date,
+                   x.account_id, cast(null as uuid) as source_account_id, cast(null as uuid) as destination_account_id
+            from transactions t
+            join expenses x on x.id = t.id
+            where t.user_id = :userId
+            union all
+            select t.id, 'TRANSFER' as type, t.description, t.amount, t.date,
+                   cast(null as uuid) as account_id, x.source_account_id, x.destination_account_id
+            from transactions t
+            join transfers x on x.id = t.id
+            where t.user_id = :userId
+        ) history
+        order by history.date, history.id
+        """)
+    public Stream<TransactionResponse> streamAllByUserId(UUID userId);
+
+}
@@ -1,19 +1,38 @@
 package br.edu.ufrn.expensify.transaction.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.record.TransferResponse;
 
 @Repository
 public interface TransferRepository extends JpaRepository<Transfer, UUID> {
     
-    public List<Transfer> findAllByUser(User user);
+    @Query("""
+        select new br.edu.ufrn.expensify.transaction.record.TransferResponse(t.id, t.description, t.amount, t.date, t.sourceAccount.id, t.destinationAccount.id)
+        from Transfer t
+        where t.user.id = :userId
+        order by t.date desc, t.id desc
+        """)
+    public List<TransferResponse> findFirstPageByUserId(UUID userId, Limit limit);
+
+    @Query("""
+        select new br.edu.ufrn.expensify.transaction.record.TransferResponse(t.id, t.description, t.amount, t.date, t.sourceAccount.id, t.destinationAccount.id)
+        from Transfer t
+        where t.user.id = :userId
+          and (t.date < :date or (t.date = :date and t.id < :id))
+        order by t.date desc, t.id desc
+        """)
+    public List<TransferResponse> findPageByUserIdAfter(UUID userId, LocalDate date, UUID id, Limit limit);
 
     public Optional<Transfer> findByIdAndUser(UUID id, User user);
 
@@ -0,0 +1,121 @@
+package br.edu.ufrn.expensify.transaction.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.ufrn.expensify.transaction.entity.TransactionType;
+import br.edu.ufrn.expensify.warmup.service.WarmUpRequests;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Counts created and deleted transactions by type. Counts are taken once the
+ * surrounding transaction commits, so rolled back and retried attempts are not
+ * counted.
+ *
+ * <p>Also records the latency and SQL statement count of each created transfer
+ * across all of its attempts, tagged with whether it had to be retried.
+ *
+ * <p>Requests sent by the warm-up are left out of every meter.
+ */
+@Component
+public class TransactionMetrics {
+
+    private final Map<TransactionType, Counter> created = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> deleted = new EnumMap<>(TransactionType.class);
+
+    private final Timer transferDuration;
+    private final Timer retriedTransferDuration;
+    private final DistributionSummary transferStatements;
+    private final DistributionSummary retriedTransferStatements;
+
+    private final WarmUpRequests warmUpRequests;
+
+    public TransactionMetrics(MeterRegistry meterRegistry, WarmUpRequests warmUpRequests) {
+        for (TransactionType type : TransactionType.values()) {
+            String tag = type.name().toLowerCase();
+
+            created.put(type, counter(meterRegistry, "create", tag));
+            deleted.put(type, counter(meterRegistry, "delete", tag));
+        }
+
+        this.transferDuration = transferTimer(meterRegistry, false);
+        this.retriedTransferDuration = transferTimer(meterRegistry, true);
+        this.transferStatements = transferSummary(meterRegistry, false);
+        this.retriedTransferStatements = transferSummary(meterRegistry, true);
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    public void created(TransactionType type, int count) {
+        if (!warmUpRequests.isCurrent()) {
+            afterCommit(created.get(type), count);
+        }
+    }
+
+    public void deleted(TransactionType type) {
+        if (!warmUpRequests.isCurrent()) {
+            afterCommit(deleted.get(type), 1);
+        }
+    }
+
+    /**
+     * Records a transfer whose transaction has already committed.
+     */
+    public void transferCreated(long durationNanos, long statements, int attempts) {
+        if (warmUpRequests.isCurrent()) {
+            return;
+        }
+
+        boolean retried = attempts > 1;
+
+        (retried ? retriedTransferDuration : transferDuration).record(durationNanos, TimeUnit.NANOSECONDS);
+        (retried ? retriedTransferStatements : transferStatements).record(statements);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String operation, String type) {
+        return Counter.builder("expensify.transactions")
+            .description("Transactions created or deleted")
+            .tag("operation", operation)
+            .tag("type", type)
+            .register(meterRegistry);
+    }
+
+    private static Timer transferTimer(MeterRegistry meterRegistry, boolean retried) {
+        return Timer.builder("expensify.transfers.duration")
+            .description("Time to create a transfer, including retried attempts")
+            .tag("retried", String.valueOf(retried))
+            .register(meterRegistry);
+    }
+
+    private static DistributionSummary transferSummary(MeterRegistry meterRegistry, boolean retried) {
+        return DistributionSummary.builder("expensify.transfers.statements")
+            .description("SQL statements issued to create a transfer, including retried attempts")
+            .baseUnit("statements")
+            .tag("retried", String.valueOf(retried))
+            .register(meterRegistry);
+    }
+
+    private static void afterCommit(Counter counter, int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment(count);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                counter.increment(count);
+            }
+
+        });
+    }
+
+}
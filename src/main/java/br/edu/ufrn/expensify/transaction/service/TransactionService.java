@@ -1,27 +1,63 @@
 package br.edu.ufrn.expensify.transaction.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.record.BalanceChange;
 import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.account.service.BalanceHistoryService;
 import br.edu.ufrn.expensify.auth.entity.User;
 import br.edu.ufrn.expensify.auth.service.AuthService;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.pagination.Cursor;
+import br.edu.ufrn.expensify.report.service.MonthlyRollupDeltas;
+import br.edu.ufrn.expensify.report.service.MonthlyRollupService;
 import br.edu.ufrn.expensify.transaction.entity.Expense;
 import br.edu.ufrn.expensify.transaction.entity.Income;
 import br.edu.ufrn.expensify.transaction.entity.Transaction;
+import br.edu.ufrn.expensify.transaction.entity.TransactionType;
 import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.exception.InvalidBatchException;
 import br.edu.ufrn.expensify.transaction.exception.TransactionNotFoundException;
+import br.edu.ufrn.expensify.transaction.record.ExpenseResponse;
+import br.edu.ufrn.expensify.transaction.record.IncomeResponse;
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
+import br.edu.ufrn.expensify.transaction.record.TransferResponse;
 import br.edu.ufrn.expensify.transaction.repository.ExpenseRepository;
 import br.edu.ufrn.expensify.transaction.repository.IncomeRepository;
 import br.edu.ufrn.expensify.transaction.repository.TransactionRepository;
 import br.edu.ufrn.expensify.transaction.repository.TransferRepository;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
+@Timed("expensify.service")
 public class TransactionService {
     
     private final Logger logger = LoggerFactory.getLogger(TransactionService.class);
@@ -33,6 +69,17 @@ public class TransactionService {
 
     private final AccountService accountService;
     private final AuthService authService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final DataVersionService dataVersionService;
+    private final TransactionMetrics transactionMetrics;
+
+    private final TransactionTemplate transactionTemplate;
+    private final RetryTemplate transferRetryTemplate;
+
+    private final Validator validator;
+
+    private final int maxBatchSize;
 
 
     public TransactionService(
@@ -41,7 +88,16 @@ public class TransactionService {
         ExpenseRepository expenseRepository,
         TransferRepository transferRepository,
         AccountService accountService,
-        AuthService authService
+        AuthService authService,
+        MonthlyRollupService monthlyRollupService,
+        BalanceHistoryService balanceHistoryService,
+        DataVersionService dataVersionService,
+        TransactionMetrics transactionMetrics,
+        TransactionTemplate transactionTemplate,
+        Validator validator,
+        @Value("${transactions.transfer.max-retries:3}") long transferMaxRetries,
+        @Value("${transactions.transfer.retry-delay:50ms}") Duration transferRetryDelay,
+        @Value("${transactions.batch.max-size:1000}") int maxBatchSize
     ) {
         this.transactionRepository = transactionRepository;
         this.incomeRepository = incomeRepository;
@@ -49,39 +105,89 @@ public class TransactionService {
         this.transferRepository = transferRepository;
         this.accountService = accountService;
         this.authService = authService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.balanceHistoryService = balanceHistoryService;
+        this.dataVersionService = dataVersionService;
+        this.transactionMetrics = transactionMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+        this.transferRetryTemplate = new RetryTemplate(
+            RetryPolicy.builder()
+                .includes(ConcurrencyFailureException.class)
+                .maxRetries(transferMaxRetries)
+                .delay(transferRetryDelay)
+                .jitter(transferRetryDelay.dividedBy(2))
+                .build()
+        );
     }
 
-    public List<Transaction> retrieveAllTransactions() {
+    /**
+     * Returns up to {@code limit} transactions of every kind, newest first,
+     * positioned after the cursor when one is given.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> retrieveTransactionFeed(Cursor after, int limit) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching all transactions for user: {}", user.getUsername());
-    
-        return transactionRepository.findAllByUser(user);
+        logger.debug("Fetching transaction feed page after cursor: {} for user: {}", after, user.getUsername());
+
+        if (after == null) {
+            return transactionRepository.findFeedFirstPage(user.getId(), limit);
+        }
+
+        return transactionRepository.findFeedPageAfter(user.getId(), after.date(), after.id(), limit);
     }
 
     public Transaction retrieveTransaction(UUID id) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching transaction with id: {} for user: {}", id, user.getUsername());
+        logger.debug("Fetching transaction with id: {} for user: {}", id, user.getUsername());
     
         return transactionRepository.findByIdAndUser(id, user)
             .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id + " for user: " + user.getUsername()));
     }
 
+    /**
+     * Hands every transaction of the user to the consumer, oldest first, straight
+     * from a database cursor. Rows are projections, so the persistence context
+     * does not grow with the history.
+     */
+    @Transactional(readOnly = true)
+    public void exportAllTransactions(Consumer<TransactionResponse> consumer) {
+        User user = authService.getAuthenticatedUser();
+
+        logger.debug("Exporting all transactions for user: {}", user.getUsername());
+
+        try (Stream<TransactionResponse> rows = transactionRepository.streamAllByUserId(user.getId())) {
+            rows.forEach(consumer);
+        }
+    }
+
     // Income methods
 
-    public List<Income> retrieveAllIncomes() {
+    /**
+     * Returns up to {@code limit} incomes, newest first, positioned after the cursor
+     * when one is given. Rows are projected straight into responses, so a page
+     * is one statement and no entities are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<IncomeResponse> retrieveAllIncomes(Cursor after, int limit) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching all incomes for user: {}", user.getUsername());
-    
-        return incomeRepository.findAllByUser(user);
+        logger.debug("Fetching incomes page after cursor: {} for user: {}", after, user.getUsername());
+
+        if (after == null) {
+            return incomeRepository.findFirstPageByUserId(user.getId(), Limit.of(limit));
+        }
+
+        return incomeRepository.findPageByUserIdAfter(user.getId(), after.date(), after.id(), Limit.of(limit));
     }
 
     public Income retrieveIncome(UUID id) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching income with id: {} for user: {}", id, user.getUsername());
+        logger.debug("Fetching income with id: {} for user: {}", id, user.getUsername());
     
         return incomeRepository.findByIdAndUser(id, user)
             .orElseThrow(() -> new TransactionNotFoundException("Income not found with id: " + id + " for user: " + user.getUsername()));
@@ -95,34 +201,90 @@ public class TransactionService {
         Income createdIncome = incomeRepository.save(income);
         
         accountService.increaseBalance(createdIncome.getAccount().getId(), createdIncome.getAmount());
+        monthlyRollupService.apply(user.getId(), new MonthlyRollupDeltas()
+            .income(createdIncome.getAccount().getId(), createdIncome.getDate(), createdIncome.getAmount()));
+        balanceHistoryService.applyChanges(List.of(
+            new BalanceChange(createdIncome.getAccount().getId(), createdIncome.getDate(), createdIncome.getAmount())));
+        dataVersionService.bump(user.getId());
+        transactionMetrics.created(TransactionType.INCOME, 1);
 
-        logger.info("Created income: {}", createdIncome);
+        logger.debug("Created income with id: {}", createdIncome.getId());
 
         return createdIncome;
     }
 
+    /**
+     * Creates all incomes in one transaction: the batch is validated as a whole,
+     * the inserts go out as JDBC batches and each account gets a single balance update.
+     */
+    @Transactional
+    public List<Income> createIncomes(List<Income> incomes) {
+        User user = authService.getAuthenticatedUser();
+
+        validateBatch(incomes, user, income -> Arrays.asList(income.getAccount()));
+
+        Map<UUID, Double> deltas = new HashMap<>();
+        MonthlyRollupDeltas rollupDeltas = new MonthlyRollupDeltas();
+        List<BalanceChange> changes = new ArrayList<>();
+        incomes.forEach(income -> {
+            deltas.merge(income.getAccount().getId(), income.getAmount(), Double::sum);
+            rollupDeltas.income(income.getAccount().getId(), income.getDate(), income.getAmount());
+            changes.add(new BalanceChange(income.getAccount().getId(), income.getDate(), income.getAmount()));
+        });
+
+        accountService.applyBalanceDeltas(deltas);
+        monthlyRollupService.apply(user.getId(), rollupDeltas);
+        balanceHistoryService.applyChanges(changes);
+
+        List<Income> createdIncomes = incomeRepository.saveAll(incomes);
+        dataVersionService.bump(user.getId());
+        transactionMetrics.created(TransactionType.INCOME, createdIncomes.size());
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Created {} incomes in batch for user: {}", createdIncomes.size(), user.getUsername());
+        }
+
+        return createdIncomes;
+    }
+
     @Transactional
     public void deleteIncome(Income income) {
         accountService.decreaseBalance(income.getAccount().getId(), income.getAmount());
+        monthlyRollupService.apply(income.getUser().getId(), new MonthlyRollupDeltas()
+            .income(income.getAccount().getId(), income.getDate(), -income.getAmount()));
+        balanceHistoryService.applyChanges(List.of(
+            new BalanceChange(income.getAccount().getId(), income.getDate(), -income.getAmount())));
         incomeRepository.delete(income);
+        dataVersionService.bump(income.getUser().getId());
+        transactionMetrics.deleted(TransactionType.INCOME);
 
-        logger.info("Deleted income: {}", income);
+        logger.debug("Deleted income with id: {}", income.getId());
     }
     
     // Expense methods
 
-    public List<Expense> retrieveAllExpenses() {
+    /**
+     * Returns up to {@code limit} expenses, newest first, positioned after the cursor
+     * when one is given. Rows are projected straight into responses, so a page
+     * is one statement and no entities are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<ExpenseResponse> retrieveAllExpenses(Cursor after, int limit) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching all expenses for user: {}", user.getUsername());
-    
-        return expenseRepository.findAllByUser(user);
+        logger.debug("Fetching expenses page after cursor: {} for user: {}", after, user.getUsername());
+
+        if (after == null) {
+            return expenseRepository.findFirstPageByUserId(user.getId(), Limit.of(limit));
+        }
+
+        return expenseRepository.findPageByUserIdAfter(user.getId(), after.date(), after.id(), Limit.of(limit));
     }
 
     public Expense retrieveExpense(UUID id) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching expense with id: {} for user: {}", id, user.getUsername());
+        logger.debug("Fetching expense with id: {} for user: {}", id, user.getUsername());
     
         return expenseRepository.findByIdAndUser(id, user)
             .orElseThrow(() -> new TransactionNotFoundException("Expense not found with id: " + id + " for user: " + user.getUsername()));
@@ -136,61 +298,281 @@ public class TransactionService {
         Expense createdExpense = expenseRepository.save(expense);
         
         accountService.decreaseBalance(createdExpense.getAccount().getId(), createdExpense.getAmount());
+        monthlyRollupService.apply(user.getId(), new MonthlyRollupDeltas()
+            .expense(createdExpense.getAccount().getId(), createdExpense.getDate(), createdExpense.getAmount()));
+        balanceHistoryService.applyChanges(List.of(
+            new BalanceChange(createdExpense.getAccount().getId(), createdExpense.getDate(), -createdExpense.getAmount())));
+        dataVersionService.bump(user.getId());
+        transactionMetrics.created(TransactionType.EXPENSE, 1);
 
-        logger.info("Created expense: {}", createdExpense);
+        logger.debug("Created expense with id: {}", createdExpense.getId());
 
         return createdExpense;
     }
 
+    /**
+     * Creates all expenses in one transaction: the batch is validated as a whole,
+     * the inserts go out as JDBC batches and each account gets a single balance update.
+     */
+    @Transactional
+    public List<Expense> createExpenses(List<Expense> expenses) {
+        User user = authService.getAuthenticatedUser();
+
+        validateBatch(expenses, user, expense -> Arrays.asList(expense.getAccount()));
+
+        Map<UUID, Double> deltas = new HashMap<>();
+        MonthlyRollupDeltas rollupDeltas = new MonthlyRollupDeltas();
+        List<BalanceChange> changes = new ArrayList<>();
+        expenses.forEach(expense -> {
+            deltas.merge(expense.getAccount().getId(), -expense.getAmount(), Double::sum);
+            rollupDeltas.expense(expense.getAccount().getId(), expense.getDate(), expense.getAmount());
+            changes.add(new BalanceChange(expense.getAccount().getId(), expense.getDate(), -expense.getAmount()));
+        });
+
+        accountService.applyBalanceDeltas(deltas);
+        monthlyRollupService.apply(user.getId(), rollupDeltas);
+        balanceHistoryService.applyChanges(changes);
+
+        List<Expense> createdExpenses = expenseRepository.saveAll(expenses);
+        dataVersionService.bump(user.getId());
+        transactionMetrics.created(TransactionType.EXPENSE, createdExpenses.size());
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Created {} expenses in batch for user: {}", createdExpenses.size(), user.getUsername());
+        }
+
+        return createdExpenses;
+    }
+
     @Transactional
     public void deleteExpense(Expense expense) {
         accountService.increaseBalance(expense.getAccount().getId(), expense.getAmount());
+        monthlyRollupService.apply(expense.getUser().getId(), new MonthlyRollupDeltas()
+            .expense(expense.getAccount().getId(), expense.getDate(), -expense.getAmount()));
+        balanceHistoryService.applyChanges(List.of(
+            new BalanceChange(expense.getAccount().getId(), expense.getDate(), expense.getAmount())));
         expenseRepository.delete(expense);
+        dataVersionService.bump(expense.getUser().getId());
+        transactionMetrics.deleted(TransactionType.EXPENSE);
 
-        logger.info("Deleted expense: {}", expense);
+        logger.debug("Deleted expense with id: {}", expense.getId());
     }
 
     // Transfer methods
 
-    public List<Transfer> retrieveAllTransfers() {
+    /**
+     * Returns up to {@code limit} transfers, newest first, positioned after the cursor
+     * when one is given. Rows are projected straight into responses, so a page
+     * is one statement and no entities are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<TransferResponse> retrieveAllTransfers(Cursor after, int limit) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching all transfers for user: {}", user.getUsername());
-    
-        return transferRepository.findAllByUser(user);
+        logger.debug("Fetching transfers page after cursor: {} for user: {}", after, user.getUsername());
+
+        if (after == null) {
+            return transferRepository.findFirstPageByUserId(user.getId(), Limit.of(limit));
+        }
+
+        return transferRepository.findPageByUserIdAfter(user.getId(), after.date(), after.id(), Limit.of(limit));
     }
 
     public Transfer retrieveTransfer(UUID id) {
         User user = authService.getAuthenticatedUser();
 
-        logger.info("Fetching transfer with id: {} for user: {}", id, user.getUsername());
+        logger.debug("Fetching transfer with id: {} for user: {}", id, user.getUsername());
     
         return transferRepository.findByIdAndUser(id, user)
             .orElseThrow(() -> new TransactionNotFoundException("Transfer not found with id: " + id + " for user: " + user.getUsername()));
     }
 
-    @Transactional
+    /**
+     * Creates the transfer in its own transaction, retrying the whole unit when the
+     * database reports a deadlock, lock timeout or serialization failure. Each attempt
+     * persists a fresh copy, since a rolled back attempt leaves an id on the entity.
+     * The latency and statement count across all attempts are recorded in
+     * {@link TransactionMetrics}.
+     */
     public Transfer createTransfer(Transfer transfer) {
+        long startedAt = System.nanoTime();
+        long statementsBefore = SqlStatementCounter.current();
+        int[] attempts = {0};
+
+        Transfer createdTransfer = transferRetryTemplate.invoke(() -> {
+            attempts[0]++;
+
+            return transactionTemplate.execute(status -> persistTransfer(copyOf(transfer)));
+        });
+
+        long duration = System.nanoTime() - startedAt;
+        long statements = SqlStatementCounter.current() - statementsBefore;
+
+        transactionMetrics.transferCreated(duration, statements, attempts[0]);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                "Created transfer with id: {} using {} statements in {} ms after {} attempt(s)",
+                createdTransfer.getId(),
+                statements,
+                TimeUnit.NANOSECONDS.toMillis(duration),
+                attempts[0]
+            );
+        }
+
+        return createdTransfer;
+    }
+
+    private Transfer persistTransfer(Transfer transfer) {
         User user = authService.getAuthenticatedUser();
         transfer.setUser(user);
 
+        accountService.transferBalance(
+            transfer.getSourceAccount().getId(),
+            transfer.getDestinationAccount().getId(),
+            transfer.getAmount()
+        );
+        monthlyRollupService.apply(user.getId(), new MonthlyRollupDeltas().transfer(
+            transfer.getSourceAccount().getId(),
+            transfer.getDestinationAccount().getId(),
+            transfer.getDate(),
+            transfer.getAmount()
+        ));
+        balanceHistoryService.applyChanges(transferChanges(transfer, transfer.getAmount()));
+
         Transfer createdTransfer = transferRepository.save(transfer);
+        dataVersionService.bump(user.getId());
+        transactionMetrics.created(TransactionType.TRANSFER, 1);
+
+        return createdTransfer;
+    }
 
-        accountService.decreaseBalance(createdTransfer.getSourceAccount().getId(), createdTransfer.getAmount());
-        accountService.increaseBalance(createdTransfer.getDestinationAccount().getId(), createdTransfer.getAmount());
+    private List<BalanceChange> transferChanges(Transfer transfer, Double amount) {
+        return List.of(
+            new BalanceChange(transfer.getSourceAccount().getId(), transfer.getDate(), -amount),
+            new BalanceChange(transfer.getDestinationAccount().getId(), transfer.getDate(), amount)
+        );
+    }
 
-        logger.info("Created transfer: {}", transfer);
+    private Transfer copyOf(Transfer transfer) {
+        Transfer copy = new Transfer();
+        copy.setDescription(transfer.getDescription());
+        copy.setAmount(transfer.getAmount());
+        copy.setDate(transfer.getDate());
+        copy.setSourceAccount(transfer.getSourceAccount());
+        copy.setDestinationAccount(transfer.getDestinationAccount());
 
-        return createdTransfer;
+        return copy;
+    }
+
+    /**
+     * Creates all transfers in one transaction: the batch is validated as a whole,
+     * the inserts go out as JDBC batches and each account gets a single balance update
+     * holding the net of every transfer touching it.
+     */
+    @Transactional
+    public List<Transfer> createTransfers(List<Transfer> transfers) {
+        User user = authService.getAuthenticatedUser();
+
+        validateBatch(transfers, user, transfer -> Arrays.asList(transfer.getSourceAccount(), transfer.getDestinationAccount()));
+
+        Map<UUID, Double> deltas = new HashMap<>();
+        MonthlyRollupDeltas rollupDeltas = new MonthlyRollupDeltas();
+        List<BalanceChange> changes = new ArrayList<>();
+        transfers.forEach(transfer -> {
+            deltas.merge(transfer.getSourceAccount().getId(), -transfer.getAmount(), Double::sum);
+            deltas.merge(transfer.getDestinationAccount().getId(), transfer.getAmount(), Double::sum);
+            rollupDeltas.transfer(
+                transfer.getSourceAccount().getId(),
+                transfer.getDestinationAccount().getId(),
+                transfer.getDate(),
+                transfer.getAmount()
+            );
+            changes.addAll(transferChanges(transfer, transfer.getAmount()));
+        });
+
+        accountService.applyBalanceDeltas(deltas);
+        monthlyRollupService.apply(user.getId(), rollupDeltas);
+        balanceHistoryService.applyChanges(changes);
+
+        List<Transfer> createdTransfers = transferRepository.saveAll(transfers);
+        dataVersionService.bump(user.getId());
+        transactionMetrics.created(TransactionType.TRANSFER, createdTransfers.size());
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Created {} transfers in batch for user: {}", createdTransfers.size(), user.getUsername());
+        }
+
+        return createdTransfers;
     }
 
     @Transactional
     public void deleteTransfer(Transfer transfer) {
-        accountService.increaseBalance(transfer.getSourceAccount().getId(), transfer.getAmount());
-        accountService.decreaseBalance(transfer.getDestinationAccount().getId(), transfer.getAmount());
+        accountService.transferBalance(
+            transfer.getDestinationAccount().getId(),
+            transfer.getSourceAccount().getId(),
+            transfer.getAmount()
+        );
+        monthlyRollupService.apply(transfer.getUser().getId(), new MonthlyRollupDeltas().transfer(
+            transfer.getSourceAccount().getId(),
+            transfer.getDestinationAccount().getId(),
+            transfer.getDate(),
+            -transfer.getAmount()
+        ));
+        balanceHistoryService.applyChanges(transferChanges(transfer, -transfer.getAmount()));
         transferRepository.delete(transfer);
+        dataVersionService.bump(transfer.getUser().getId());
+        transactionMetrics.deleted(TransactionType.TRANSFER);
+
+        logger.debug("Deleted transfer with id: {}", transfer.getId());
+    }
 
-        logger.info("Deleted transfer: {}", transfer);
+    // Batch validation
+
+    /**
+     * Checks every item of a batch before anything is written: bean validation on
+     * each entity plus one ownership query for all referenced accounts. All problems
+     * are reported together, indexed by position in the batch.
+     */
+    private <T extends Transaction> void validateBatch(
+        List<T> batch,
+        User user,
+        Function<T, List<Account>> accountsOf
+    ) {
+        if (batch.isEmpty() || batch.size() > maxBatchSize) {
+            throw new InvalidBatchException(List.of("batch must contain between 1 and " + maxBatchSize + " items"));
+        }
+
+        List<String> errors = new ArrayList<>();
+        Set<UUID> accountIds = new HashSet<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            T item = batch.get(i);
+            item.setUser(user);
+
+            for (ConstraintViolation<T> violation : validator.validate(item)) {
+                errors.add("items[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+
+            accountsOf.apply(item).stream()
+                .filter(Objects::nonNull)
+                .map(Account::getId)
+                .forEach(accountIds::add);
+        }
+
+        Set<UUID> ownedAccountIds = accountService.getOwnedAccountIds(accountIds);
+
+        for (int i = 0; i < batch.size(); i++) {
+            for (Account account : accountsOf.apply(batch.get(i))) {
+                if (account != null && !ownedAccountIds.contains(account.getId())) {
+                    errors.add("items[" + i + "]: account not found with id: " + account.getId());
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new InvalidBatchException(errors);
+        }
     }
 
 }
@@ -0,0 +1,32 @@
+package br.edu.ufrn.expensify.version.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Monotonic counter of the changes made to one user's accounts and
+ * transactions. Only ever incremented in place, never rewritten from the entity.
+ */
+@Entity
+@Table(name = "user_data_versions")
+public class DataVersion {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+}
@@ -0,0 +1,42 @@
+package br.edu.ufrn.expensify.version.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufrn.expensify.version.entity.DataVersion;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, UUID> {
+
+    @Query("select v.version from DataVersion v where v.userId = :userId")
+    Optional<Long> findVersionByUserId(UUID userId);
+
+    @Modifying
+    @Query("update DataVersion v set v.version = v.version + 1 where v.userId = :userId")
+    int increment(UUID userId);
+
+    /**
+     * Creates the first version of a user who has never written anything, unless
+     * a concurrent write created it first. The session is flushed first, since
+     * the declared query space alone would not flush a user saved in the same
+     * transaction.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_data_versions"))
+    @NativeQuery("""
+        insert into user_data_versions (user_id, version)
+        values (:userId, 1)
+        on conflict do nothing
+        """)
+    int insertIfAbsent(UUID userId);
+
+}
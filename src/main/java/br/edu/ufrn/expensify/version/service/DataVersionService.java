@@ -0,0 +1,55 @@
+package br.edu.ufrn.expensify.version.service;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufrn.expensify.datasource.RecentWrites;
+import br.edu.ufrn.expensify.version.repository.DataVersionRepository;
+
+/**
+ * Tracks a per-user version of everything served by the account and transaction
+ * endpoints. Writes bump it inside their own transaction, so a reader never sees
+ * new data under an old version once the write has committed. A bump also starts
+ * the user's read-your-writes window once it commits.
+ */
+@Service
+public class DataVersionService {
+
+    private final DataVersionRepository dataVersionRepository;
+    private final RecentWrites recentWrites;
+
+    public DataVersionService(DataVersionRepository dataVersionRepository, RecentWrites recentWrites) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.recentWrites = recentWrites;
+    }
+
+    /**
+     * Returns the committed version of the user's data with one primary key lookup,
+     * from the same database that serves the user's other reads.
+     */
+    @Transactional(readOnly = true)
+    public long getVersion(UUID userId) {
+        return dataVersionRepository.findVersionByUserId(userId).orElse(0L);
+    }
+
+    /**
+     * Increments the user's version, creating it on the first write. The row stays
+     * locked until the caller's transaction ends, so it is bumped last to keep
+     * concurrent writes of the same user from queueing on it any longer than needed.
+     */
+    @Transactional
+    public void bump(UUID userId) {
+        recentWrites.recordAfterCommit(userId);
+
+        if (dataVersionRepository.increment(userId) > 0) {
+            return;
+        }
+
+        if (dataVersionRepository.insertIfAbsent(userId) == 0) {
+            dataVersionRepository.increment(userId);
+        }
+    }
+
+}
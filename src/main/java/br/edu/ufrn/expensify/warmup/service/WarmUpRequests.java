@@ -0,0 +1,46 @@
+package br.edu.ufrn.expensify.warmup.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Recognizes the requests {@link WarmUpRunner} sends to its own port. They
+ * carry a header holding a secret drawn at startup, which never leaves the
+ * process, so a client cannot pass itself off as warm-up traffic. Rate limits
+ * let these requests through and transaction metrics leave them out.
+ */
+@Component
+public class WarmUpRequests {
+
+    public static final String HEADER = "X-Warm-Up";
+
+    private final String secret = UUID.randomUUID().toString();
+    private final byte[] secretBytes = secret.getBytes(StandardCharsets.US_ASCII);
+
+    public String secret() {
+        return secret;
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+
+        return value != null && MessageDigest.isEqual(secretBytes, value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Whether the request handled on the current thread, if any, is warm-up
+     * traffic.
+     */
+    public boolean isCurrent() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+            && matches(attributes.getRequest());
+    }
+
+}
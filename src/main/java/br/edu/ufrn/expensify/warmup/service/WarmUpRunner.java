@@ -0,0 +1,240 @@
+package br.edu.ufrn.expensify.warmup.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import br.edu.ufrn.expensify.account.record.AccountResponse;
+import br.edu.ufrn.expensify.account.record.CreateAccountRequest;
+import br.edu.ufrn.expensify.account.service.AccountCache;
+import br.edu.ufrn.expensify.auth.record.AuthRequest;
+import br.edu.ufrn.expensify.auth.record.AuthResponse;
+import br.edu.ufrn.expensify.auth.record.UserResponse;
+import br.edu.ufrn.expensify.auth.service.UserService;
+import br.edu.ufrn.expensify.idempotency.service.IdempotencyService;
+import br.edu.ufrn.expensify.transaction.record.CreateExpenseRequest;
+import br.edu.ufrn.expensify.transaction.record.CreateIncomeRequest;
+import br.edu.ufrn.expensify.transaction.record.CreateTransferRequest;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Sends synthetic traffic to the application's own port before it reports
+ * ready, so the first real requests do not pay for interpreting and compiling
+ * the filter chain, JWT, Jackson and Hibernate paths. Readiness only changes to
+ * {@code ACCEPTING_TRAFFIC} once every {@link ApplicationRunner} has finished,
+ * and the web server is already listening by then.
+ *
+ * <p>The traffic belongs to a scratch user registered for the warm-up and
+ * deleted afterwards, together with everything it owns. Each iteration creates
+ * accounts and transactions with a bearer token, lists them, polls one list
+ * again with its {@code ETag} and deletes the accounts; every tenth also signs
+ * in again. Requests are marked through {@link WarmUpRequests}, so rate limits
+ * do not slow the warm-up down and the transaction metrics do not count it.
+ *
+ * <p>Off unless {@code warm-up.enabled} is set. The flag is read here rather
+ * than in a condition because AOT fixes conditions at build time.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final int LOGIN_EVERY = 10;
+    private static final int BATCH_SIZE = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private final Environment environment;
+    private final WarmUpRequests warmUpRequests;
+    private final UserService userService;
+    private final AccountCache accountCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration duration;
+    private final int iterations;
+
+    public WarmUpRunner(
+        Environment environment,
+        WarmUpRequests warmUpRequests,
+        UserService userService,
+        AccountCache accountCache,
+        ObjectMapper objectMapper,
+        @Value("${warm-up.enabled:false}") boolean enabled,
+        @Value("${warm-up.duration:30s}") Duration duration,
+        @Value("${warm-up.iterations:500}") int iterations
+    ) {
+        this.environment = environment;
+        this.warmUpRequests = warmUpRequests;
+        this.userService = userService;
+        this.accountCache = accountCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.duration = duration;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Runs iterations until the iteration budget or the duration is used up,
+     * whichever comes first, and returns how many completed. Without a web
+     * server nothing runs. A failure stops the warm-up but never the
+     * application.
+     */
+    public int warmUp() {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+
+        if (port == null) {
+            logger.warn("Skipping warm-up: no web server is listening");
+            return 0;
+        }
+
+        logger.info("Warming up for at most {} iterations or {}", iterations, duration);
+
+        RestClient client = RestClient.builder()
+            .baseUrl("http://localhost:" + port)
+            .defaultHeader(WarmUpRequests.HEADER, warmUpRequests.secret())
+            .build();
+
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        int completed = 0;
+        UserResponse user = null;
+
+        try {
+            AuthRequest credentials = new AuthRequest("warm-up-" + UUID.randomUUID(), UUID.randomUUID().toString());
+            user = post(client, "/auth/register", null, credentials, UserResponse.class);
+            String token = null;
+
+            while (completed < iterations && System.nanoTime() - deadline < 0) {
+                if (completed % LOGIN_EVERY == 0) {
+                    token = post(client, "/auth/login", null, credentials, AuthResponse.class).token();
+                }
+
+                iteration(client, token);
+                completed++;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up stopped after {} iterations", completed, e);
+        } finally {
+            if (user != null) {
+                delete(user);
+            }
+        }
+
+        logger.info("Warm-up ran {} iterations in {} ms", completed, (System.nanoTime() - start) / 1_000_000);
+
+        return completed;
+    }
+
+    private void iteration(RestClient client, String token) {
+        UUID checking = post(client, "/accounts", token, new CreateAccountRequest("Checking", 1_000.0), AccountResponse.class).id();
+        UUID savings = post(client, "/accounts", token, new CreateAccountRequest("Savings", 0.0), AccountResponse.class).id();
+        LocalDate today = LocalDate.now();
+
+        post(client, "/transactions/incomes", token, new CreateIncomeRequest("Salary", 500.0, today, checking), null);
+        post(client, "/transactions/expenses", token, new CreateExpenseRequest("Groceries", 42.5, today, checking), null);
+        post(client, "/transactions/transfers", token, new CreateTransferRequest("Savings", 100.0, today, checking, savings), null);
+
+        List<CreateExpenseRequest> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new CreateExpenseRequest("Coffee", 3.5, today.minusDays(i), savings));
+        }
+
+        post(client, "/transactions/expenses/batch", token, batch, null);
+
+        ResponseEntity<byte[]> accounts = get(client, "/accounts", token, null);
+        get(client, "/accounts", token, accounts.getHeaders().getETag());
+        get(client, "/transactions", token, null);
+        get(client, "/transactions/incomes", token, null);
+        get(client, "/transactions/expenses", token, null);
+        get(client, "/transactions/transfers", token, null);
+
+        delete(client, "/accounts/" + checking, token);
+        delete(client, "/accounts/" + savings, token);
+    }
+
+    /**
+     * Deletes the scratch user and what is left of its data. A failure is only
+     * logged; the user then stays behind under its {@code warm-up-} name.
+     */
+    private void delete(UserResponse user) {
+        try {
+            userService.deleteUser(user.id());
+        } catch (RuntimeException e) {
+            logger.warn("Could not delete warm-up user: {}", user.username(), e);
+        } finally {
+            accountCache.invalidate(user.id());
+        }
+    }
+
+    /**
+     * Posts the body as JSON and reads the response back into the given type,
+     * or discards it when there is none. Creates carry an idempotency key, as
+     * clients retrying them would.
+     */
+    private <T> T post(RestClient client, String path, String token, Object body, Class<T> type) {
+        byte[] response = client.post()
+            .uri(path)
+            .headers(headers -> {
+                authorize(headers, token);
+
+                if (path.startsWith("/transactions/")) {
+                    headers.set(IdempotencyService.HEADER, UUID.randomUUID().toString());
+                }
+            })
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(objectMapper.writeValueAsBytes(body))
+            .retrieve()
+            .body(byte[].class);
+
+        return type == null ? null : objectMapper.readValue(response, type);
+    }
+
+    private ResponseEntity<byte[]> get(RestClient client, String path, String token, String etag) {
+        return client.get()
+            .uri(path)
+            .headers(headers -> {
+                authorize(headers, token);
+
+                if (etag != null) {
+                    headers.setIfNoneMatch(etag);
+                }
+            })
+            .retrieve()
+            .toEntity(byte[].class);
+    }
+
+    private void delete(RestClient client, String path, String token) {
+        client.delete()
+            .uri(path)
+            .headers(headers -> authorize(headers, token))
+            .retrieve()
+            .toBodilessEntity();
+    }
+
+    private static void authorize(HttpHeaders headers, String token) {
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+    }
+
+}
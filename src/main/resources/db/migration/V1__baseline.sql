@@ -0,0 +1,55 @@
+-- Schema as previously generated by Hibernate. Databases created before
+-- migrations were introduced are baselined at this version and skip it.
+
+create table users (
+    id uuid not null,
+    username varchar(255) not null,
+    password varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table accounts (
+    id uuid not null,
+    user_id uuid not null,
+    name varchar(255) not null,
+    balance float(53) not null,
+    primary key (id),
+    constraint fk_accounts_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create table transactions (
+    id uuid not null,
+    user_id uuid not null,
+    description varchar(255) not null,
+    amount float(53) not null,
+    date date not null,
+    primary key (id),
+    constraint fk_transactions_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create table incomes (
+    id uuid not null,
+    account_id uuid not null,
+    primary key (id),
+    constraint fk_incomes_transaction foreign key (id) references transactions (id),
+    constraint fk_incomes_account foreign key (account_id) references accounts (id) on delete cascade
+);
+
+create table expenses (
+    id uuid not null,
+    account_id uuid not null,
+    primary key (id),
+    constraint fk_expenses_transaction foreign key (id) references transactions (id),
+    constraint fk_expenses_account foreign key (account_id) references accounts (id) on delete cascade
+);
+
+create table transfers (
+    id uuid not null,
+    source_account_id uuid not null,
+    destination_account_id uuid not null,
+    primary key (id),
+    constraint fk_transfers_transaction foreign key (id) references transactions (id),
+    constraint fk_transfers_source_account foreign key (source_account_id) references accounts (id) on delete cascade,
+    constraint fk_transfers_destination_account foreign key (destination_account_id) references accounts (id) on delete cascade
+);
@@ -0,0 +1,13 @@
+-- Every list, feed and export query filters transactions by owner and walks
+-- them by (date, id); the keyset predicates rely on this exact order.
+create index idx_transactions_user_date_id on transactions (user_id, date desc, id desc);
+
+-- Account lists are keyset-paginated by id within a user.
+create index idx_accounts_user_id on accounts (user_id, id);
+
+-- Subtype tables are reached by primary key from transactions, but deleting
+-- an account cascades through these foreign keys and would otherwise scan them.
+create index idx_incomes_account on incomes (account_id);
+create index idx_expenses_account on expenses (account_id);
+create index idx_transfers_source_account on transfers (source_account_id);
+create index idx_transfers_destination_account on transfers (destination_account_id);
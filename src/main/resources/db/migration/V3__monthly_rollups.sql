@@ -0,0 +1,39 @@
+-- Per-account monthly totals, maintained incrementally by the write paths.
+-- Transfers are split into what left and what entered the account.
+create table monthly_rollups (
+    account_id uuid not null,
+    month_start date not null,
+    user_id uuid not null,
+    income_total float(53) not null default 0,
+    expense_total float(53) not null default 0,
+    transfer_in_total float(53) not null default 0,
+    transfer_out_total float(53) not null default 0,
+    primary key (account_id, month_start),
+    constraint fk_monthly_rollups_account foreign key (account_id) references accounts (id) on delete cascade,
+    constraint fk_monthly_rollups_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create index idx_monthly_rollups_user_month on monthly_rollups (user_id, month_start);
+
+-- Backfill from the rows written before the rollups existed.
+insert into monthly_rollups (account_id, month_start, user_id, income_total, expense_total, transfer_in_total, transfer_out_total)
+select r.account_id, r.month_start, r.user_id, sum(r.income), sum(r.expense), sum(r.transfer_in), sum(r.transfer_out)
+from (
+    select i.account_id, cast(date_trunc('month', t.date) as date) as month_start, t.user_id,
+           t.amount as income, cast(0 as double precision) as expense,
+           cast(0 as double precision) as transfer_in, cast(0 as double precision) as transfer_out
+    from transactions t join incomes i on i.id = t.id
+    union all
+    select e.account_id, cast(date_trunc('month', t.date) as date), t.user_id,
+           0, t.amount, 0, 0
+    from transactions t join expenses e on e.id = t.id
+    union all
+    select tr.destination_account_id, cast(date_trunc('month', t.date) as date), t.user_id,
+           0, 0, t.amount, 0
+    from transactions t join transfers tr on tr.id = t.id
+    union all
+    select tr.source_account_id, cast(date_trunc('month', t.date) as date), t.user_id,
+           0, 0, 0, t.amount
+    from transactions t join transfers tr on tr.id = t.id
+) r
+group by r.account_id, r.month_start, r.user_id;
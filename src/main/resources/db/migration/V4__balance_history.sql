@@ -0,0 +1,24 @@
+-- Balance of an account at the end of a day, including every transaction
+-- dated on or before it. Only days before the current one are snapshotted.
+create table balance_snapshots (
+    account_id uuid not null,
+    snapshot_date date not null,
+    balance float(53) not null,
+    primary key (account_id, snapshot_date),
+    constraint fk_balance_snapshots_account foreign key (account_id) references accounts (id) on delete cascade
+);
+
+-- Signed effect of every transaction on each account it touches. Transfers
+-- appear once for each side.
+create view account_ledger as
+    select t.id as transaction_id, i.account_id, t.user_id, t.date, t.amount
+    from transactions t join incomes i on i.id = t.id
+    union all
+    select t.id, e.account_id, t.user_id, t.date, -t.amount
+    from transactions t join expenses e on e.id = t.id
+    union all
+    select t.id, tr.destination_account_id, t.user_id, t.date, t.amount
+    from transactions t join transfers tr on tr.id = t.id
+    union all
+    select t.id, tr.source_account_id, t.user_id, t.date, -t.amount
+    from transactions t join transfers tr on tr.id = t.id;
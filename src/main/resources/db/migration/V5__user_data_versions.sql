@@ -0,0 +1,10 @@
+-- Counter bumped by every write of a user, used to answer conditional GETs
+-- without reading the data they cover. Users without a row are at version 0.
+create table user_data_versions (
+    user_id uuid not null primary key,
+    version bigint not null,
+    constraint fk_user_data_versions_user foreign key (user_id) references users (id) on delete cascade
+);
+
+insert into user_data_versions (user_id, version)
+select u.id, 1 from users u;
@@ -0,0 +1,14 @@
+-- First response to each Idempotency-Key a user sent to a create endpoint. A row
+-- without a response status is claimed by a request that has not finished yet.
+create table idempotency_keys (
+    user_id uuid not null,
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64) not null,
+    response_status integer,
+    response_body varchar,
+    expires_at timestamp(6) with time zone not null,
+    primary key (user_id, idempotency_key),
+    constraint fk_idempotency_keys_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create index idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
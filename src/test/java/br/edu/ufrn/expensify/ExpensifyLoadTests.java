@@ -0,0 +1,462 @@
+package br.edu.ufrn.expensify;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.record.AuthRequest;
+import br.edu.ufrn.expensify.auth.record.AuthResponse;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.record.CreateExpenseRequest;
+import br.edu.ufrn.expensify.transaction.record.CreateTransferRequest;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Boots the whole application on a random port against the in-memory
+ * database, seeds users with accounts and transaction history, and drives a
+ * mix of logins, lists and creates over concurrent HTTP clients. Prints and
+ * writes throughput and latency percentiles per endpoint, and fails on any
+ * error. Throughput and p99 floors depend on the machine and are only checked
+ * when set, e.g. {@code -Dload.min-throughput=500 -Dload.max-p99=250ms} in CI.
+ *
+ * <p>Tagged {@code load} and only run by the {@code load-test} profile. Every
+ * {@code load.*} value can be overridden with a system property, e.g.
+ * {@code -Dload.users=10000 -Dload.transactions-per-user=1000} for the full
+ * data set, which needs a heap of several gigabytes.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "load"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpensifyLoadTests {
+
+    private static final String PASSWORD = "load-password";
+    private static final int SEED_BATCH = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.users:200}")
+    private int users;
+
+    @Value("${load.transactions-per-user:100}")
+    private int transactionsPerUser;
+
+    @Value("${load.clients:32}")
+    private int clients;
+
+    @Value("${load.warm-up:10s}")
+    private Duration warmUp;
+
+    @Value("${load.duration:30s}")
+    private Duration duration;
+
+    @Value("${load.min-throughput:0}")
+    private double minThroughput;
+
+    @Value("${load.max-p99:0s}")
+    private Duration maxP99;
+
+    @Value("${load.report:target/load-report.json}")
+    private Path reportPath;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .build();
+
+    private final List<SeededUser> seeded = new ArrayList<>();
+
+    @BeforeAll
+    void seed() throws Exception {
+        String hash = passwordEncoder.encode(PASSWORD);
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            List<Future<SeededUser>> futures = new ArrayList<>();
+
+            for (int i = 0; i < users; i++) {
+                String username = "load-" + i + "-" + UUID.randomUUID();
+                futures.add(executor.submit(() -> seedUser(username, hash)));
+            }
+
+            for (Future<SeededUser> future : futures) {
+                seeded.add(future.get());
+            }
+        }
+
+        System.out.printf(
+            "Seeded %d users with %d transactions each in %.1f s%n",
+            users, transactionsPerUser, (System.nanoTime() - start) / 1e9
+        );
+    }
+
+    @Test
+    void mixedWorkloadMeetsThroughputAndLatencyFloors() throws Exception {
+        run(warmUp);
+
+        Map<Endpoint, Samples> samples = run(duration);
+        List<EndpointReport> reports = new ArrayList<>();
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            reports.add(samples.get(endpoint).report(endpoint, duration));
+        }
+
+        EndpointReport total = Samples.merge(samples.values()).report(null, duration);
+        reports.add(total);
+
+        print(reports);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        jsonMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), reports);
+
+        for (EndpointReport report : reports) {
+            assertThat(report.errors()).as("errors on %s", report.endpoint()).isZero();
+
+            if (!maxP99.isZero()) {
+                assertThat(report.p99Millis()).as("p99 of %s", report.endpoint()).isLessThanOrEqualTo(maxP99.toMillis());
+            }
+        }
+
+        assertThat(total.throughput()).isGreaterThanOrEqualTo(minThroughput);
+    }
+
+    private SeededUser seedUser(String username, String hash) {
+        User user = userRepository.save(new User(username, hash));
+        Account checking = createAccount(user, "Checking");
+        Account savings = createAccount(user, "Savings");
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+
+        try {
+            for (int offset = 0; offset < transactionsPerUser; offset += SEED_BATCH) {
+                int size = Math.min(SEED_BATCH, transactionsPerUser - offset);
+                List<Income> incomes = new ArrayList<>();
+                List<Expense> expenses = new ArrayList<>();
+                List<Transfer> transfers = new ArrayList<>();
+
+                for (int i = offset; i < offset + size; i++) {
+                    LocalDate date = LocalDate.now().minusDays(i % 730);
+
+                    switch (i % 10) {
+                        case 0 -> incomes.add(income(checking, date));
+                        case 1 -> transfers.add(transfer(checking, savings, date));
+                        default -> expenses.add(expense(checking, date));
+                    }
+                }
+
+                if (!incomes.isEmpty()) {
+                    transactionService.createIncomes(incomes);
+                }
+                if (!expenses.isEmpty()) {
+                    transactionService.createExpenses(expenses);
+                }
+                if (!transfers.isEmpty()) {
+                    transactionService.createTransfers(transfers);
+                }
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        return new SeededUser(username, checking.getId(), savings.getId());
+    }
+
+    /**
+     * Runs every client for the given time, each as one user picked at random,
+     * and returns the latencies they observed.
+     */
+    private Map<Endpoint, Samples> run(Duration time) throws Exception {
+        long deadline = System.nanoTime() + time.toNanos();
+        List<Future<Map<Endpoint, Samples>>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> drive(deadline)));
+            }
+
+            Map<Endpoint, Samples> merged = new EnumMap<>(Endpoint.class);
+
+            for (Endpoint endpoint : Endpoint.values()) {
+                merged.put(endpoint, new Samples());
+            }
+
+            for (Future<Map<Endpoint, Samples>> future : futures) {
+                future.get().forEach((endpoint, samples) -> merged.get(endpoint).addAll(samples));
+            }
+
+            return merged;
+        }
+    }
+
+    private Map<Endpoint, Samples> drive(long deadline) throws Exception {
+        Map<Endpoint, Samples> samples = new EnumMap<>(Endpoint.class);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            samples.put(endpoint, new Samples());
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SeededUser user = seeded.get(random.nextInt(seeded.size()));
+        String token = null;
+
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = token == null ? Endpoint.LOGIN : Endpoint.pick(random.nextInt(100));
+            HttpRequest request = request(endpoint, user, token);
+
+            long start = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+
+            boolean ok = response.statusCode() / 100 == 2;
+            samples.get(endpoint).add(elapsed, ok);
+
+            if (endpoint == Endpoint.LOGIN && ok) {
+                token = jsonMapper.readValue(response.body(), AuthResponse.class).token();
+            }
+        }
+
+        return samples;
+    }
+
+    private HttpRequest request(Endpoint endpoint, SeededUser user, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint.path))
+            .header("Content-Type", "application/json");
+
+        if (token != null && endpoint != Endpoint.LOGIN) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        return switch (endpoint) {
+            case LOGIN -> builder.POST(body(new AuthRequest(user.username(), PASSWORD))).build();
+            case LIST_ACCOUNTS, LIST_TRANSACTIONS -> builder.GET().build();
+            case CREATE_EXPENSE -> builder.POST(body(new CreateExpenseRequest(
+                "Load expense", 1.0, LocalDate.now(), user.checkingId()
+            ))).build();
+            case CREATE_TRANSFER -> builder.POST(body(new CreateTransferRequest(
+                "Load transfer", 1.0, LocalDate.now(), user.checkingId(), user.savingsId()
+            ))).build();
+        };
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) {
+        return HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(value));
+    }
+
+    private Account createAccount(User owner, String name) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(0.0);
+        account.setUser(owner);
+
+        return accountRepository.save(account);
+    }
+
+    private Income income(Account account, LocalDate date) {
+        Income income = new Income();
+        income.setDescription("Salary");
+        income.setAmount(1_000.0);
+        income.setDate(date);
+        income.setAccount(accountService.getAccountReference(account.getId()));
+
+        return income;
+    }
+
+    private Expense expense(Account account, LocalDate date) {
+        Expense expense = new Expense();
+        expense.setDescription("Groceries");
+        expense.setAmount(25.0);
+        expense.setDate(date);
+        expense.setAccount(accountService.getAccountReference(account.getId()));
+
+        return expense;
+    }
+
+    private Transfer transfer(Account source, Account destination, LocalDate date) {
+        Transfer transfer = new Transfer();
+        transfer.setDescription("Savings");
+        transfer.setAmount(100.0);
+        transfer.setDate(date);
+        transfer.setSourceAccount(accountService.getAccountReference(source.getId()));
+        transfer.setDestinationAccount(accountService.getAccountReference(destination.getId()));
+
+        return transfer;
+    }
+
+    private static void print(List<EndpointReport> reports) {
+        System.out.printf("%-28s %8s %6s %9s %8s %8s %8s %8s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        for (EndpointReport report : reports) {
+            System.out.printf(
+                "%-28s %8d %6d %9.1f %8.2f %8.2f %8.2f %8.2f%n",
+                report.endpoint(), report.requests(), report.errors(), report.throughput(),
+                report.p50Millis(), report.p90Millis(), report.p99Millis(), report.maxMillis()
+            );
+        }
+    }
+
+    /**
+     * Requests a client sends once logged in, with their share of the mix in
+     * percent. Clients log in first and then again now and then.
+     */
+    private enum Endpoint {
+
+        LOGIN("POST /auth/login", "/auth/login", 2),
+        LIST_ACCOUNTS("GET /accounts", "/accounts", 28),
+        LIST_TRANSACTIONS("GET /transactions", "/transactions?limit=50", 40),
+        CREATE_EXPENSE("POST /transactions/expenses", "/transactions/expenses", 20),
+        CREATE_TRANSFER("POST /transactions/transfers", "/transactions/transfers", 10);
+
+        private final String label;
+        private final String path;
+        private final int weight;
+
+        Endpoint(String label, String path, int weight) {
+            this.label = label;
+            this.path = path;
+            this.weight = weight;
+        }
+
+        static Endpoint pick(int percent) {
+            for (Endpoint endpoint : values()) {
+                percent -= endpoint.weight;
+
+                if (percent < 0) {
+                    return endpoint;
+                }
+            }
+
+            return LIST_TRANSACTIONS;
+        }
+
+    }
+
+    private record SeededUser(String username, UUID checkingId, UUID savingsId) {}
+
+    record EndpointReport(
+        String endpoint,
+        long requests,
+        long errors,
+        double throughput,
+        @JsonProperty("p50_ms") double p50Millis,
+        @JsonProperty("p90_ms") double p90Millis,
+        @JsonProperty("p99_ms") double p99Millis,
+        @JsonProperty("max_ms") double maxMillis
+    ) {}
+
+    /**
+     * Latencies of one endpoint, in nanoseconds, and its failed request count.
+     */
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long elapsed, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+
+            nanos[size++] = elapsed;
+            errors += ok ? 0 : 1;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i], true);
+            }
+
+            errors += other.errors;
+        }
+
+        static Samples merge(Iterable<Samples> all) {
+            Samples merged = new Samples();
+            all.forEach(merged::addAll);
+
+            return merged;
+        }
+
+        EndpointReport report(Endpoint endpoint, Duration duration) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+
+            return new EndpointReport(
+                endpoint == null ? "total" : endpoint.label,
+                size,
+                errors,
+                size / (duration.toNanos() / 1e9),
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.90),
+                percentile(sorted, 0.99),
+                size == 0 ? 0 : sorted[size - 1] / 1e6
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+
+            return sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+        }
+
+    }
+
+}
@@ -0,0 +1,299 @@
+package br.edu.ufrn.expensify;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.record.AuthRequest;
+import br.edu.ufrn.expensify.auth.record.AuthResponse;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Boots the whole application on a random port with a small connection pool
+ * and drives transaction lists over HTTP, first with as many clients as there
+ * are connections and then with many times more. Past saturation the
+ * concurrency limit has to turn the excess away with {@code 503} and
+ * {@code Retry-After}, so that the requests it admits keep a p99 within
+ * {@code load.overload.max-p99-ratio} of the unsaturated one instead of
+ * queueing behind the pool.
+ *
+ * <p>Tagged {@code load} and only run by the {@code load-test} profile, like
+ * {@code ExpensifyLoadTests}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:expensify-overload;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+    "spring.datasource.hikari.maximum-pool-size=4",
+    "rate-limit.reads.capacity=0",
+    "rate-limit.writes.capacity=0",
+    "rate-limit.login.capacity=0",
+    "concurrency-limit.initial-limit=8",
+    "concurrency-limit.min-limit=4",
+    "concurrency-limit.max-limit=64"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpensifyOverloadTests {
+
+    private static final String PASSWORD = "overload-password";
+    private static final int CONNECTIONS = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.overload.users:20}")
+    private int users;
+
+    @Value("${load.overload.transactions-per-user:200}")
+    private int transactionsPerUser;
+
+    @Value("${load.overload.clients:128}")
+    private int clients;
+
+    @Value("${load.overload.duration:20s}")
+    private Duration duration;
+
+    @Value("${load.overload.max-p99-ratio:5}")
+    private double maxP99Ratio;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .build();
+
+    private final List<String> tokens = new ArrayList<>();
+
+    @BeforeAll
+    void seed() throws Exception {
+        String hash = passwordEncoder.encode(PASSWORD);
+
+        for (int i = 0; i < users; i++) {
+            String username = "overload-" + i + "-" + UUID.randomUUID();
+            seedUser(username, hash);
+            tokens.add(login(username));
+        }
+    }
+
+    @Test
+    void admittedRequestsKeepABoundedTailPastSaturation() throws Exception {
+        run(CONNECTIONS, duration.dividedBy(2));
+
+        Outcome unsaturated = run(CONNECTIONS, duration);
+        Outcome saturated = run(clients, duration);
+
+        System.out.printf("%-12s %8s %8s %8s %8s%n", "clients", "ok", "shed", "p50 ms", "p99 ms");
+        System.out.printf("%-12d %8d %8d %8.2f %8.2f%n", CONNECTIONS, unsaturated.ok(), unsaturated.shed(), unsaturated.p50Millis(), unsaturated.p99Millis());
+        System.out.printf("%-12d %8d %8d %8.2f %8.2f%n", clients, saturated.ok(), saturated.shed(), saturated.p50Millis(), saturated.p99Millis());
+
+        assertThat(unsaturated.errors()).isZero();
+        assertThat(saturated.errors()).isZero();
+        assertThat(saturated.shed()).isPositive();
+        assertThat(saturated.ok()).isGreaterThan(unsaturated.ok() / 2);
+        assertThat(saturated.p99Millis()).isLessThanOrEqualTo(unsaturated.p99Millis() * maxP99Ratio);
+    }
+
+    private void seedUser(String username, String hash) {
+        User user = userRepository.save(new User(username, hash));
+
+        Account account = new Account();
+        account.setName("Checking");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+
+        try {
+            List<Expense> expenses = new ArrayList<>();
+
+            for (int i = 0; i < transactionsPerUser; i++) {
+                Expense expense = new Expense();
+                expense.setDescription("Groceries");
+                expense.setAmount(25.0);
+                expense.setDate(LocalDate.now().minusDays(i % 365));
+                expense.setAccount(accountService.getAccountReference(account.getId()));
+                expenses.add(expense);
+            }
+
+            transactionService.createExpenses(expenses);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private String login(String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(new AuthRequest(username, PASSWORD))))
+            .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        return jsonMapper.readValue(response.body(), AuthResponse.class).token();
+    }
+
+    private Outcome run(int clientCount, Duration time) throws Exception {
+        long deadline = System.nanoTime() + time.toNanos();
+        List<Future<Outcome>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(clientCount)) {
+            for (int i = 0; i < clientCount; i++) {
+                futures.add(executor.submit(() -> drive(deadline)));
+            }
+
+            Outcome merged = new Outcome();
+
+            for (Future<Outcome> future : futures) {
+                merged.addAll(future.get());
+            }
+
+            return merged;
+        }
+    }
+
+    /**
+     * Lists transactions as one user until the deadline. A shed request is
+     * retried once its {@code Retry-After} has passed, or at the deadline.
+     */
+    private Outcome drive(long deadline) throws Exception {
+        Outcome outcome = new Outcome();
+        String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/transactions?limit=50"))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+
+            if (response.statusCode() == 200) {
+                outcome.ok(elapsed);
+            } else if (response.statusCode() == 503 && response.headers().firstValue(HttpHeaders.RETRY_AFTER).isPresent()) {
+                outcome.shed++;
+
+                long retryAt = System.nanoTime() + Duration.ofSeconds(Long.parseLong(response.headers().firstValue(HttpHeaders.RETRY_AFTER).get())).toNanos();
+                Thread.sleep(Duration.ofNanos(Math.max(0, Math.min(retryAt, deadline) - System.nanoTime())));
+            } else {
+                outcome.errors++;
+            }
+        }
+
+        return outcome;
+    }
+
+    /**
+     * Latencies of admitted requests, in nanoseconds, and counts of shed and
+     * failed ones.
+     */
+    private static final class Outcome {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long shed;
+        private long errors;
+
+        void ok(long elapsed) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+
+            nanos[size++] = elapsed;
+        }
+
+        void addAll(Outcome other) {
+            for (int i = 0; i < other.size; i++) {
+                ok(other.nanos[i]);
+            }
+
+            shed += other.shed;
+            errors += other.errors;
+        }
+
+        long ok() {
+            return size;
+        }
+
+        long shed() {
+            return shed;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        double p50Millis() {
+            return percentile(0.50);
+        }
+
+        double p99Millis() {
+            return percentile(0.99);
+        }
+
+        private double percentile(double quantile) {
+            if (size == 0) {
+                return 0;
+            }
+
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+
+            return sorted[(int) Math.ceil(quantile * size) - 1] / 1e6;
+        }
+
+    }
+
+}
@@ -0,0 +1,319 @@
+package br.edu.ufrn.expensify.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.exception.AccountNotFoundException;
+import br.edu.ufrn.expensify.account.record.AccountResponse;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.pagination.Cursor;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountCacheTests {
+
+    private static final int WRITES = 600;
+    private static final int WRITERS = 8;
+    private static final int READERS = 4;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private List<Account> accounts;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("account-cache-" + UUID.randomUUID(), "password"));
+        accounts = List.of(
+            createAccount(user, "Checking", 1_000.0),
+            createAccount(user, "Savings", 1_000.0),
+            createAccount(user, "Wallet", 1_000.0)
+        );
+
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromMemory() {
+        accountService.getAllAccounts(null, 50);
+
+        long hitsBefore = accountCache.stats().hitCount();
+        long statementsBefore = SqlStatementCounter.current();
+
+        for (Account account : accounts) {
+            assertThat(accountService.getAccount(account.getId()).balance()).isEqualTo(1_000.0);
+        }
+        assertThat(accountService.getAllAccounts(null, 50)).hasSize(3);
+
+        assertThat(SqlStatementCounter.current() - statementsBefore).isZero();
+        assertThat(accountCache.stats().hitCount() - hitsBefore).isEqualTo(4);
+        assertThat(accountCache.stats().hitRate()).isPositive();
+        assertThat(accountCache.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    void cachedPagesFollowDatabaseOrder() {
+        List<AccountResponse> cached = new ArrayList<>();
+        AccountResponse last = null;
+
+        do {
+            List<AccountResponse> page = accountService.getAllAccounts(
+                last == null ? null : new Cursor(null, last.id()), 2
+            );
+
+            cached.addAll(page);
+            last = page.size() < 2 ? null : page.getLast();
+        } while (last != null);
+
+        assertThat(cached).containsExactlyElementsOf(accountRepository.findAllByUserId(user.getId()));
+    }
+
+    @Test
+    void structuralChangesAndRollbacksInvalidate() {
+        accountService.getAllAccounts(null, 50);
+
+        Account created = new Account();
+        created.setName("Brokerage");
+        created.setBalance(5.0);
+        created = accountService.saveAccount(created);
+
+        assertThat(accountService.getAccount(created.getId()).name()).isEqualTo("Brokerage");
+
+        created.setName("Investments");
+        accountService.updateAccount(created);
+
+        assertThat(accountService.getAccount(created.getId()).name()).isEqualTo("Investments");
+
+        User stranger = userRepository.save(new User("stranger-" + UUID.randomUUID(), "password"));
+        Account foreign = createAccount(stranger, "Foreign", 0.0);
+
+        assertThatThrownBy(() -> transactionService.createTransfer(transfer(accounts.get(0), foreign, 10.0)))
+            .isInstanceOf(AccountNotFoundException.class);
+
+        assertThat(accountService.getAccount(accounts.get(0).getId()).balance()).isEqualTo(1_000.0);
+
+        UUID deletedId = created.getId();
+        accountService.deleteAccount(deletedId);
+
+        assertThatThrownBy(() -> accountService.getAccount(deletedId))
+            .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    /**
+     * Writers move money around while readers keep reading and repeatedly drop
+     * the entry, so loads race with commits. Once writes stop, every cached
+     * balance must equal the committed one.
+     */
+    @Test
+    void cacheIsNotStaleAfterConcurrentWrites() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        for (int i = 0; i < READERS; i++) {
+            readers.add(executor.submit(() -> {
+                authenticate(user);
+
+                try {
+                    while (writing.get()) {
+                        accountService.getAllAccounts(null, 50);
+
+                        if (ThreadLocalRandom.current().nextInt(4) == 0) {
+                            accountCache.invalidate(user.getId());
+                        }
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        for (int i = 0; i < WRITES; i++) {
+            int kind = i % 3;
+            Account account = accounts.get(i % accounts.size());
+            Account other = accounts.get((i + 1) % accounts.size());
+
+            writers.add(executor.submit(() -> {
+                authenticate(user);
+
+                try {
+                    switch (kind) {
+                        case 0 -> transactionService.createIncome(income(account, 3.0));
+                        case 1 -> transactionService.createExpense(expense(account, 2.0));
+                        default -> transactionService.createTransfer(transfer(account, other, 1.0));
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+
+        writing.set(false);
+
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+
+        executor.shutdown();
+
+        for (AccountResponse cached : accountService.getAllAccounts(null, 50)) {
+            assertThat(cached.balance())
+                .as("cached balance of %s", cached.name())
+                .isEqualTo(accountRepository.findBalanceById(cached.id()));
+        }
+    }
+
+    @Test
+    void loadOverlappingACacheChangeIsNotKept() {
+        AccountCache cache = new AccountCache(100);
+        UUID userId = UUID.randomUUID();
+        AccountResponse account = new AccountResponse(UUID.randomUUID(), "Checking", 10.0);
+        AtomicInteger loads = new AtomicInteger();
+
+        NavigableMap<UUID, AccountResponse> first = cache.get(userId, id -> {
+            loads.incrementAndGet();
+            cache.invalidate(id);
+
+            return List.of(account);
+        });
+
+        assertThat(first).containsValue(account);
+
+        cache.get(userId, id -> {
+            loads.incrementAndGet();
+
+            return List.of(account);
+        });
+        cache.get(userId, id -> List.of());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadDuringACommitIsNotKeptAndTheCommitIsApplied() {
+        AccountCache cache = new AccountCache(100);
+        UUID userId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            cache.addToBalance(userId, accountId, 5.0);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+            cache.get(userId, id -> List.of(new AccountResponse(accountId, "Checking", 15.0)));
+
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        NavigableMap<UUID, AccountResponse> reloaded = cache.get(userId, id -> List.of(new AccountResponse(accountId, "Checking", 15.0)));
+        cache.addToBalance(userId, accountId, 1.0);
+
+        assertThat(reloaded.get(accountId).balance()).isEqualTo(15.0);
+        assertThat(cache.get(userId, id -> List.of()).get(accountId).balance()).isEqualTo(16.0);
+    }
+
+    private Income income(Account account, Double amount) {
+        Income income = new Income();
+        income.setDescription("Income");
+        income.setAmount(amount);
+        income.setDate(LocalDate.now());
+        income.setAccount(accountService.getAccountReference(account.getId()));
+
+        return income;
+    }
+
+    private Expense expense(Account account, Double amount) {
+        Expense expense = new Expense();
+        expense.setDescription("Expense");
+        expense.setAmount(amount);
+        expense.setDate(LocalDate.now());
+        expense.setAccount(accountService.getAccountReference(account.getId()));
+
+        return expense;
+    }
+
+    private Transfer transfer(Account source, Account destination, Double amount) {
+        Transfer transfer = new Transfer();
+        transfer.setDescription("Transfer");
+        transfer.setAmount(amount);
+        transfer.setDate(LocalDate.now());
+        transfer.setSourceAccount(accountService.getAccountReference(source.getId()));
+        transfer.setDestinationAccount(accountService.getAccountReference(destination.getId()));
+
+        return transfer;
+    }
+
+    private Account createAccount(User owner, String name, Double balance) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(balance);
+        account.setUser(owner);
+
+        return accountRepository.save(account);
+    }
+
+    private void authenticate(User principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+    }
+
+}
@@ -0,0 +1,155 @@
+package br.edu.ufrn.expensify.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.exception.AccountNotFoundException;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountServiceTests {
+
+    private static final int OPERATIONS = 4_000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("balance-" + UUID.randomUUID(), "password"));
+
+        account = new Account();
+        account.setName("Wallet");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void balanceChangesTakeOneStatementEach() {
+        authenticate(user);
+
+        long before = SqlStatementCounter.current();
+
+        accountService.increaseBalance(account.getId(), 10.0);
+        accountService.decreaseBalance(account.getId(), 4.0);
+
+        assertThat(SqlStatementCounter.current() - before).isEqualTo(2);
+        assertThat(accountRepository.findBalanceById(account.getId())).isEqualTo(6.0);
+    }
+
+    @Test
+    void balanceChangesAreScopedToTheAuthenticatedUser() {
+        User intruder = userRepository.save(new User("intruder-" + UUID.randomUUID(), "password"));
+        authenticate(intruder);
+
+        assertThatThrownBy(() -> accountService.increaseBalance(account.getId(), 10.0))
+            .isInstanceOf(AccountNotFoundException.class);
+
+        assertThat(accountRepository.findBalanceById(account.getId())).isEqualTo(0.0);
+    }
+
+    @Test
+    void concurrentIncomesAndExpensesDoNotLoseUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            boolean income = i % 2 == 0;
+
+            futures.add(executor.submit(() -> {
+                authenticate(user);
+
+                try {
+                    if (income) {
+                        createIncome(3.0);
+                    } else {
+                        createExpense(1.0);
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+
+        double expected = (OPERATIONS / 2) * 3.0 - (OPERATIONS / 2) * 1.0;
+
+        assertThat(accountRepository.findBalanceById(account.getId())).isEqualTo(expected);
+    }
+
+    private void createIncome(Double amount) {
+        Income income = new Income();
+        income.setDescription("Salary");
+        income.setAmount(amount);
+        income.setDate(LocalDate.now());
+        income.setAccount(accountService.getAccountById(account.getId()));
+
+        transactionService.createIncome(income);
+    }
+
+    private void createExpense(Double amount) {
+        Expense expense = new Expense();
+        expense.setDescription("Coffee");
+        expense.setAmount(amount);
+        expense.setDate(LocalDate.now());
+        expense.setAccount(accountService.getAccountById(account.getId()));
+
+        transactionService.createExpense(expense);
+    }
+
+    private void authenticate(User principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+    }
+
+}
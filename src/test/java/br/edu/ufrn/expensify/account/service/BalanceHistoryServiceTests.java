@@ -0,0 +1,192 @@
+package br.edu.ufrn.expensify.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.exception.InvalidDateRangeException;
+import br.edu.ufrn.expensify.account.record.BalanceResponse;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+
+/**
+ * Compares snapshot-backed balances with a naive replay of every change, both
+ * before and after a backdated write lands between snapshots.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceHistoryServiceTests {
+
+    private static final double OPENING_BALANCE = 500.0;
+    private static final LocalDate FROM = LocalDate.of(2023, 12, 25);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 31);
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<LocalDate, Double> changes = new TreeMap<>();
+
+    private Account checking;
+    private Account savings;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("balances-" + UUID.randomUUID(), "password"));
+        checking = createAccount(user, "Checking", OPENING_BALANCE);
+        savings = createAccount(user, "Savings", 0.0);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+
+        income(LocalDate.of(2024, 1, 5), 1_000.0);
+        expense(LocalDate.of(2024, 1, 10), 200.0);
+        transferOut(LocalDate.of(2024, 1, 31), 300.0);
+        expense(LocalDate.of(2024, 2, 15), 50.0);
+        income(LocalDate.of(2024, 3, 3), 20.0);
+
+        for (LocalDate day : List.of(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 15))) {
+            balanceHistoryService.snapshotAll(day);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void balancesMatchNaiveReplay() {
+        assertBalancesMatchNaiveReplay();
+    }
+
+    @Test
+    void backdatedWritesCarryIntoLaterSnapshots() {
+        income(LocalDate.of(2024, 1, 20), 40.0);
+        expense(LocalDate.of(2024, 1, 2), 5.0);
+
+        assertBalancesMatchNaiveReplay();
+    }
+
+    @Test
+    void seriesCostIsIndependentOfItsLength() {
+        // The first call caches the account lookup
+        seriesStatements(FROM, FROM);
+
+        assertThat(seriesStatements(FROM, TO)).isEqualTo(seriesStatements(FROM, FROM.plusDays(7)));
+    }
+
+    @Test
+    void invertedRangeIsRejected() {
+        assertThatThrownBy(() -> balanceHistoryService.getBalanceSeries(checking.getId(), TO, FROM))
+            .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    private void assertBalancesMatchNaiveReplay() {
+        List<BalanceResponse> series = balanceHistoryService.getBalanceSeries(checking.getId(), FROM, TO);
+
+        assertThat(series).hasSize((int) (TO.toEpochDay() - FROM.toEpochDay()) + 1);
+
+        for (BalanceResponse point : series) {
+            assertThat(point.balance()).as("series on %s", point.date()).isEqualTo(naiveBalanceAsOf(point.date()));
+        }
+
+        for (LocalDate day = FROM; !day.isAfter(TO); day = day.plusDays(6)) {
+            assertThat(balanceHistoryService.getBalanceAsOf(checking.getId(), day).balance())
+                .as("balance as of %s", day)
+                .isEqualTo(naiveBalanceAsOf(day));
+        }
+    }
+
+    private long seriesStatements(LocalDate from, LocalDate to) {
+        long statementsBefore = SqlStatementCounter.current();
+
+        balanceHistoryService.getBalanceSeries(checking.getId(), from, to);
+
+        return SqlStatementCounter.current() - statementsBefore;
+    }
+
+    private double naiveBalanceAsOf(LocalDate date) {
+        return OPENING_BALANCE + changes.entrySet().stream()
+            .filter(change -> !change.getKey().isAfter(date))
+            .mapToDouble(Map.Entry::getValue)
+            .sum();
+    }
+
+    private void income(LocalDate date, Double amount) {
+        Income income = new Income();
+        income.setDescription("Income");
+        income.setAmount(amount);
+        income.setDate(date);
+        income.setAccount(accountService.getAccountReference(checking.getId()));
+
+        transactionService.createIncome(income);
+        changes.merge(date, amount, Double::sum);
+    }
+
+    private void expense(LocalDate date, Double amount) {
+        Expense expense = new Expense();
+        expense.setDescription("Expense");
+        expense.setAmount(amount);
+        expense.setDate(date);
+        expense.setAccount(accountService.getAccountReference(checking.getId()));
+
+        transactionService.createExpense(expense);
+        changes.merge(date, -amount, Double::sum);
+    }
+
+    private void transferOut(LocalDate date, Double amount) {
+        Transfer transfer = new Transfer();
+        transfer.setDescription("Transfer");
+        transfer.setAmount(amount);
+        transfer.setDate(date);
+        transfer.setSourceAccount(accountService.getAccountReference(checking.getId()));
+        transfer.setDestinationAccount(accountService.getAccountReference(savings.getId()));
+
+        transactionService.createTransfer(transfer);
+        changes.merge(date, -amount, Double::sum);
+    }
+
+    private Account createAccount(User owner, String name, Double balance) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(balance);
+        account.setUser(owner);
+
+        return accountRepository.save(account);
+    }
+
+}
@@ -0,0 +1,98 @@
+package br.edu.ufrn.expensify.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+
+class UserServiceTests {
+
+    private UserRepository userRepository;
+    private UserCache userCache;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userCache = new UserCache(100, Duration.ofMinutes(5));
+        userService = new UserService(userRepository, mock(PasswordEncoder.class), userCache, mock(DataVersionService.class));
+    }
+
+    @Test
+    void loadUserByUsernameServesRepeatedLookupsFromCache() {
+        User user = new User(UUID.randomUUID(), "alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(userService.loadUserByUsername("alice")).isSameAs(user);
+        }
+
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertThat(userCache.stats().hitCount()).isEqualTo(9);
+        assertThat(userCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationForcesReload() {
+        User user = new User(UUID.randomUUID(), "bob");
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(user));
+
+        userService.loadUserByUsername("bob");
+        userCache.invalidate(user.getId());
+        userService.loadUserByUsername("bob");
+
+        verify(userRepository, times(2)).findByUsername("bob");
+    }
+
+    @Test
+    void invalidationAfterCompletionWaitsForTheTransaction() {
+        User user = new User(UUID.randomUUID(), "carol");
+        when(userRepository.findByUsername("carol")).thenReturn(Optional.of(user));
+
+        userService.loadUserByUsername("carol");
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            userCache.invalidateAfterCompletion(user.getId());
+            assertThat(userCache.size()).isOne();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(userCache.size()).isZero();
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userService.loadUserByUsername("ghost"))
+            .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userService.loadUserByUsername("ghost"))
+            .isInstanceOf(UsernameNotFoundException.class);
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+        assertThat(userCache.size()).isZero();
+    }
+
+}
@@ -0,0 +1,140 @@
+package br.edu.ufrn.expensify.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.JwtService;
+import br.edu.ufrn.expensify.transaction.record.CreateExpenseRequest;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import tools.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "access-log.sampling.reads=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccessLogFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private Level previousLevel;
+    private User user;
+    private Account account;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = accessLogger.getLevel();
+        accessLogger.setLevel(Level.INFO);
+        appender.start();
+        accessLogger.addAppender(appender);
+
+        user = userRepository.save(new User("access-log-" + UUID.randomUUID(), "password"));
+
+        account = new Account();
+        account.setName("Checking");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        token = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+        accessLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    void writesAreLoggedWithUserEndpointAndStatementCount() throws Exception {
+        CreateExpenseRequest request = new CreateExpenseRequest("Lunch", 12.5, LocalDate.now(), account.getId());
+
+        mockMvc.perform(post("/transactions/expenses")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated());
+
+        assertThat(appender.list).hasSize(1);
+
+        Map<String, Object> record = keyValues(appender.list.getFirst());
+
+        assertThat(record)
+            .containsEntry("method", "POST")
+            .containsEntry("endpoint", "/transactions/expenses")
+            .containsEntry("status", 201)
+            .containsEntry("user_id", user.getId());
+        assertThat((Long) record.get("sql_count")).isPositive();
+        assertThat((Double) record.get("latency_ms")).isPositive();
+    }
+
+    @Test
+    void readsFollowTheirSampleRateButErrorsAreKept() throws Exception {
+        mockMvc.perform(get("/accounts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk());
+
+        assertThat(appender.list).isEmpty();
+
+        mockMvc.perform(get("/accounts"))
+            .andExpect(status().isForbidden());
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(keyValues(appender.list.getFirst()))
+            .containsEntry("endpoint", "/accounts")
+            .containsEntry("status", 403)
+            .containsEntry("user_id", null);
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        Map<String, Object> keyValues = new HashMap<>();
+
+        for (KeyValuePair pair : event.getKeyValuePairs()) {
+            keyValues.put(pair.key, pair.value);
+        }
+
+        return keyValues;
+    }
+
+}
@@ -0,0 +1,166 @@
+package br.edu.ufrn.expensify.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.JwtService;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DataVersionETagInterceptorTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User user;
+    private Account account;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("etags-");
+
+        account = new Account();
+        account.setName("Checking");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void unchangedPollIsNotModifiedWithOneStatement() throws Exception {
+        String eTag = fetchETag("/accounts");
+
+        long statementsBefore = SqlStatementCounter.current();
+
+        mockMvc.perform(get("/accounts")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        assertThat(SqlStatementCounter.current() - statementsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void writesInvalidateListsAndDetails() throws Exception {
+        String listETag = fetchETag("/transactions/incomes");
+        Income income = createIncome(user);
+
+        String detailPath = "/transactions/incomes/" + income.getId();
+        String detailETag = fetchETag(detailPath);
+
+        assertThat(detailETag).isNotEqualTo(listETag);
+
+        mockMvc.perform(get("/transactions/incomes")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, listETag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, detailETag));
+
+        createIncome(user);
+
+        mockMvc.perform(get(detailPath)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, detailETag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void otherUsersWritesDoNotInvalidate() throws Exception {
+        String eTag = fetchETag("/transactions");
+
+        User stranger = createUser("stranger-");
+        Account foreign = new Account();
+        foreign.setName("Foreign");
+        foreign.setBalance(0.0);
+        foreign.setUser(stranger);
+        accountRepository.save(foreign);
+        dataVersionService.bump(stranger.getId());
+
+        mockMvc.perform(get("/transactions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    private String fetchETag(String path) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Income createIncome(User owner) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities())
+        );
+
+        try {
+            Income income = new Income();
+            income.setDescription("Salary");
+            income.setAmount(100.0);
+            income.setDate(LocalDate.now());
+            income.setAccount(accountService.getAccountReference(account.getId()));
+
+            return transactionService.createIncome(income);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private User createUser(String prefix) {
+        User created = userRepository.save(new User(prefix + UUID.randomUUID(), "password"));
+        dataVersionService.bump(created.getId());
+
+        return created;
+    }
+
+}
@@ -0,0 +1,234 @@
+package br.edu.ufrn.expensify.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountCache;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HibernateCacheConfigTests {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("l2-" + UUID.randomUUID(), "password"));
+
+        account = new Account();
+        account.setName("Wallet");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsAreServedFromTheCacheAfterWarmUp() {
+        long before = SqlStatementCounter.current();
+
+        assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+
+        assertThat(SqlStatementCounter.current()).isGreaterThan(before);
+
+        before = SqlStatementCounter.current();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+            assertThat(userRepository.findById(user.getId())).isPresent();
+        }
+
+        assertThat(SqlStatementCounter.current()).isEqualTo(before);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(10);
+        assertThat(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void accountsStayOutOfTheSecondLevelCache() {
+        assertThat(accountRepository.findByIdAndUser(account.getId(), user)).isPresent();
+        assertThat(accountRepository.findById(account.getId())).isPresent();
+
+        assertThat(entityManagerFactory.getCache().contains(Account.class, account.getId())).isFalse();
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+    }
+
+    /**
+     * Interleaves balance changes by one user with account and login reads by
+     * that user and another. Each write only touches the writer's entry in the
+     * account cache, so past the first load of each user every account read is
+     * a hit, and login lookups keep hitting the query cache throughout.
+     */
+    @Test
+    void hitRatiosHoldUnderMixedReadsAndWrites() {
+        User reader = userRepository.save(new User("l2-reader-" + UUID.randomUUID(), "password"));
+
+        Account readerAccount = new Account();
+        readerAccount.setName("Checking");
+        readerAccount.setBalance(0.0);
+        readerAccount.setUser(reader);
+        readerAccount = accountRepository.save(readerAccount);
+
+        CacheStats accountsBefore = accountCache.stats();
+        statistics.clear();
+
+        for (int i = 0; i < 50; i++) {
+            accountService.increaseBalance(account.getId(), 1.0);
+
+            assertThat(accountService.getAccount(account.getId()).balance()).isEqualTo(i + 1.0);
+            assertThat(accountService.getAllAccounts(null, 10)).hasSize(1);
+            assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+
+            authenticate(reader);
+
+            try {
+                assertThat(accountService.getAccount(readerAccount.getId()).balance()).isZero();
+                assertThat(accountService.getAllAccounts(null, 10)).hasSize(1);
+                assertThat(userRepository.findByUsername(reader.getUsername())).isPresent();
+            } finally {
+                authenticate(user);
+            }
+        }
+
+        CacheStats accounts = accountCache.stats().minus(accountsBefore);
+        double queryHitRatio = (double) statistics.getQueryCacheHitCount()
+            / (statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount());
+
+        assertThat(accounts.missCount()).isEqualTo(2);
+        assertThat(accounts.hitRate())
+            .as("account cache hit ratio (%d hits, %d misses)", accounts.hitCount(), accounts.missCount())
+            .isGreaterThanOrEqualTo(0.98);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(2);
+        assertThat(queryHitRatio)
+            .as("query cache hit ratio (%d hits, %d misses)", statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount())
+            .isGreaterThanOrEqualTo(0.98);
+    }
+
+    @Test
+    void balanceUpdatesAreNeverServedStale() {
+        Account other = new Account();
+        other.setName("Savings");
+        other.setBalance(0.0);
+        other.setUser(user);
+        other = accountRepository.save(other);
+
+        assertThat(balance(account)).isZero();
+        assertThat(balance(other)).isZero();
+
+        accountService.increaseBalance(account.getId(), 100.0);
+        assertThat(balance(account)).isEqualTo(100.0);
+
+        accountService.transferBalance(account.getId(), other.getId(), 40.0);
+        assertThat(balance(account)).isEqualTo(60.0);
+        assertThat(balance(other)).isEqualTo(40.0);
+
+        transactionService.createExpense(expense(10.0));
+        assertThat(balance(account)).isEqualTo(50.0);
+    }
+
+    @Test
+    void renamingAStaleCopyKeepsTheCurrentBalance() {
+        Account stale = accountService.getAccountById(account.getId());
+
+        accountService.increaseBalance(account.getId(), 25.0);
+
+        stale.setName("Renamed");
+        Account renamed = accountService.updateAccount(stale);
+
+        assertThat(renamed.getBalance()).isEqualTo(25.0);
+        assertThat(accountRepository.findByIdAndUser(account.getId(), user))
+            .get()
+            .satisfies(found -> {
+                assertThat(found.getName()).isEqualTo("Renamed");
+                assertThat(found.getBalance()).isEqualTo(25.0);
+            });
+    }
+
+    @Test
+    void writesToOtherTablesKeepCachedUsers() {
+        assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+
+        transactionService.createExpense(expense(5.0));
+
+        long before = SqlStatementCounter.current();
+
+        assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+        assertThat(SqlStatementCounter.current()).isEqualTo(before);
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+
+    private double balance(Account account) {
+        return accountRepository.findByIdAndUser(account.getId(), user).orElseThrow().getBalance();
+    }
+
+    private Expense expense(double amount) {
+        Expense expense = new Expense();
+        expense.setDescription("Lunch");
+        expense.setAmount(amount);
+        expense.setDate(LocalDate.now());
+        expense.setAccount(account);
+
+        return expense;
+    }
+
+}
@@ -0,0 +1,96 @@
+package br.edu.ufrn.expensify.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.JwtService;
+import br.edu.ufrn.expensify.auth.service.UserCache;
+import br.edu.ufrn.expensify.auth.service.UserService;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Counts the user lookups the authentication filter makes per request. The
+ * database mode loads the user for every request; the stateless mode builds
+ * the principal from the verified claims. The time per request in each mode
+ * is measured by {@code JwtAuthenticationFilterBenchmark} under the
+ * {@code benchmark} profile.
+ */
+class JwtAuthenticationFilterTests {
+
+    private static final String SECRET = "zWc8nQOVADdplXUcg/ZtXgBZRq9SZY62sAFtnUDOEbg=";
+
+    private static final int REQUESTS = 100;
+
+    private final AtomicLong lookups = new AtomicLong();
+
+    private JwtService jwtService;
+    private UserService userService;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User(UUID.randomUUID(), "filter");
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByUsername(anyString())).thenAnswer(invocation -> {
+            lookups.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        jwtService = new JwtService(SECRET, 86_400_000L);
+        userService = new UserService(userRepository, mock(PasswordEncoder.class), UserCache.disabled(), mock(DataVersionService.class));
+        token = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void databaseModeLooksTheUserUpOncePerRequest() throws Exception {
+        run(new JwtAuthenticationFilter(jwtService, userService, false));
+
+        assertThat(lookups.get()).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void statelessModeAuthenticatesWithoutDatabaseLookups() throws Exception {
+        run(new JwtAuthenticationFilter(jwtService, userService, true));
+
+        assertThat(lookups.get()).isZero();
+    }
+
+    private void run(JwtAuthenticationFilter filter) throws Exception {
+        FilterChain chain = (request, response) -> {};
+
+        for (int i = 0; i < REQUESTS; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts");
+            request.addHeader("Authorization", "Bearer " + token);
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+}
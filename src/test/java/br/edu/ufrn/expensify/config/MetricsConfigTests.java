@@ -0,0 +1,84 @@
+package br.edu.ufrn.expensify.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.micrometer.metrics.test.autoconfigure.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.JwtService;
+import br.edu.ufrn.expensify.transaction.record.CreateExpenseRequest;
+import tools.jackson.databind.ObjectMapper;
+
+// Actuator on the application port, where it takes a token like any other path
+@SpringBootTest(properties = "management.server.port=")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+class MetricsConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void prometheusScrapeCoversServicesTransactionsPoolAndHibernate() throws Exception {
+        User user = userRepository.save(new User("metrics-" + UUID.randomUUID(), "password"));
+        Account account = new Account();
+        account.setName("Checking");
+        account.setBalance(10.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        String token = jwtService.generateToken(user);
+
+        mockMvc.perform(post("/transactions/expenses")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateExpenseRequest("Tea", 2.0, LocalDate.now(), account.getId()))))
+            .andExpect(status().isCreated());
+        mockMvc.perform(get("/transactions").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+            .containsPattern("expensify_service_seconds_count\\{.*class=\"br.edu.ufrn.expensify.transaction.service.TransactionService\".*method=\"createExpense\"")
+            .containsPattern("expensify_transactions_total\\{operation=\"create\",type=\"expense\"} [1-9]")
+            .contains("hikaricp_connections_active")
+            .contains("hibernate_query_executions_total")
+            .contains("hibernate_flushes_total")
+            .containsPattern("http_server_requests_seconds_bucket\\{.*method=\"GET\".*uri=\"/transactions\",le=\"0.05\"}")
+            .doesNotContainPattern("http_server_requests_seconds_bucket\\{.*uri=\"/actuator/prometheus\"");
+    }
+
+}
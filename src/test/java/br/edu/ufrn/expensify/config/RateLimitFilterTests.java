@@ -0,0 +1,128 @@
+package br.edu.ufrn.expensify.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.warmup.service.WarmUpRequests;
+import tools.jackson.databind.json.JsonMapper;
+
+class RateLimitFilterTests {
+
+    private final WarmUpRequests warmUpRequests = new WarmUpRequests();
+    private final RateLimitFilter filter = new RateLimitFilter(3, 0.5, 1, 0.5, 2, 0.5, 1_000, JsonMapper.builder().build(), warmUpRequests);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsOverTheLimitAreRejectedWithRetryAfter() throws Exception {
+        User user = new User(UUID.randomUUID(), "reader");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("GET", "/accounts", user).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        MockHttpServletResponse rejected = perform("GET", "/accounts", user);
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("Too many requests");
+    }
+
+    @Test
+    void groupsAndUsersHaveTheirOwnBuckets() throws Exception {
+        User user = new User(UUID.randomUUID(), "writer");
+
+        assertThat(perform("POST", "/transactions/expenses", user).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform("DELETE", "/accounts/1", user).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(perform("GET", "/accounts", user).getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        User other = new User(UUID.randomUUID(), "other");
+
+        assertThat(perform("POST", "/transactions/expenses", other).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void loginIsLimitedPerAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(perform("POST", "/auth/login", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        assertThat(perform("POST", "/auth/login", null).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(perform("GET", "/accounts", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform(login("/auth/login", "", "203.0.113.7")).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void loginIsLimitedUnderAContextPath() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(perform(login("/api/auth/login", "/api", "198.51.100.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        assertThat(perform(login("/api/auth/login", "/api", "198.51.100.1")).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void onlyWarmUpRequestsWithTheSecretSkipTheLimit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = login("/auth/login", "", "192.0.2.1");
+            request.addHeader(WarmUpRequests.HEADER, warmUpRequests.secret());
+
+            assertThat(perform(request).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(perform(login("/auth/login", "", "192.0.2.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        MockHttpServletRequest forged = login("/auth/login", "", "192.0.2.1");
+        forged.addHeader(WarmUpRequests.HEADER, UUID.randomUUID().toString());
+
+        assertThat(perform(forged).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private MockHttpServletRequest login(String uri, String contextPath, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContextPath(contextPath);
+        request.setRemoteAddr(remoteAddr);
+
+        return request;
+    }
+
+    private MockHttpServletResponse perform(String method, String path, User user) throws Exception {
+        if (user != null) {
+            SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+            );
+        }
+
+        return perform(new MockHttpServletRequest(method, path));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        return response;
+    }
+
+}
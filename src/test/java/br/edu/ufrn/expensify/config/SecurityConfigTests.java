@@ -0,0 +1,48 @@
+package br.edu.ufrn.expensify.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.micrometer.metrics.test.autoconfigure.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+class SecurityConfigTests {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void actuatorIsOnlyServedOnTheManagementPort() throws Exception {
+        assertThat(managementPort).isNotEqualTo(port);
+
+        assertThat(status(managementPort, "/actuator/prometheus")).isEqualTo(200);
+        assertThat(status(managementPort, "/actuator/health/readiness")).isEqualTo(200);
+
+        assertThat(status(port, "/actuator/prometheus")).isEqualTo(403);
+        assertThat(status(port, "/actuator/metrics")).isEqualTo(403);
+        assertThat(status(port, "/actuator/health/readiness")).isEqualTo(403);
+    }
+
+    private int status(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+}
@@ -0,0 +1,141 @@
+package br.edu.ufrn.expensify.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs against two separate in-memory databases. Nothing replicates between
+ * them, so a read shows which one served it: the user's rows only exist on the
+ * primary, while the replica has the schema and nothing else.
+ */
+@SpringBootTest(properties = {
+    "datasource.replicas.urls=" + ReadWriteRoutingDataSourceTests.REPLICA_URL,
+    "datasource.read-your-writes.window=300ms"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingDataSourceTests {
+
+    static final String REPLICA_URL =
+        "jdbc:h2:mem:expensify-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private Account account;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("routing-" + UUID.randomUUID(), "password"));
+
+        account = new Account();
+        account.setName("Checking");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterAWriteThenMoveToTheReplica() throws InterruptedException {
+        double primaryReads = reads("primary");
+        double replicaReads = reads("replica-1");
+
+        transactionService.createExpense(expense());
+
+        assertThat(transactionService.retrieveAllExpenses(null, 10)).hasSize(1);
+        assertThat(dataVersionService.getVersion(user.getId())).isPositive();
+        assertThat(reads("primary")).isEqualTo(primaryReads + 2);
+
+        Thread.sleep(500);
+
+        assertThat(transactionService.retrieveAllExpenses(null, 10)).isEmpty();
+        assertThat(dataVersionService.getVersion(user.getId())).isZero();
+        assertThat(reads("replica-1")).isEqualTo(replicaReads + 2);
+
+        transactionService.createExpense(expense());
+
+        assertThat(transactionService.retrieveAllExpenses(null, 10)).hasSize(2);
+    }
+
+    @Test
+    void readsWithoutAUserGoToThePrimary() {
+        transactionService.createExpense(expense());
+        SecurityContextHolder.clearContext();
+
+        double primaryReads = reads("primary");
+        double replicaReads = reads("replica-1");
+
+        assertThat(dataVersionService.getVersion(user.getId())).isPositive();
+        assertThat(reads("primary")).isEqualTo(primaryReads + 1);
+        assertThat(reads("replica-1")).isEqualTo(replicaReads);
+    }
+
+    @Test
+    void poolsPublishMetricsPerRoute() {
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "replica-1").gauge()).isNotNull();
+    }
+
+    private Expense expense() {
+        Expense expense = new Expense();
+        expense.setDescription("Lunch");
+        expense.setAmount(12.5);
+        expense.setDate(LocalDate.now());
+        expense.setAccount(account);
+
+        return expense;
+    }
+
+    private double reads(String pool) {
+        return meterRegistry.get("expensify.datasource.reads").tag("pool", pool).counter().count();
+    }
+
+}
@@ -0,0 +1,296 @@
+package br.edu.ufrn.expensify.idempotency.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.AuthService;
+import br.edu.ufrn.expensify.auth.service.JwtService;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.idempotency.entity.IdempotencyRecordId;
+import br.edu.ufrn.expensify.idempotency.exception.IdempotencyKeyInProgressException;
+import br.edu.ufrn.expensify.idempotency.repository.IdempotencyRecordRepository;
+import br.edu.ufrn.expensify.transaction.record.CreateExpenseRequest;
+import br.edu.ufrn.expensify.transaction.record.CreateIncomeRequest;
+import br.edu.ufrn.expensify.transaction.record.CreateTransferRequest;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Sends retried and concurrent duplicate creates through the controller and
+ * checks that each key moves money exactly once.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyServiceTests {
+
+    private static final int DUPLICATES = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private Account checking;
+    private Account savings;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("idempotency-" + UUID.randomUUID(), "password"));
+        checking = createAccount("Checking", 100.0);
+        savings = createAccount("Savings", 0.0);
+        token = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retriesAreAnsweredFromTheStoreWithoutRunningAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CreateExpenseRequest request = new CreateExpenseRequest("Coffee", 4.0, LocalDate.now(), checking.getId());
+
+        String first = postWithKey("/transactions/expenses", key, request)
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER))
+            .andReturn().getResponse().getContentAsString();
+
+        long statementsBefore = SqlStatementCounter.current();
+
+        String replayed = postWithKey("/transactions/expenses", key, request)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(SqlStatementCounter.current() - statementsBefore).isZero();
+
+        idempotencyService.invalidateAll();
+
+        String persisted = postWithKey("/transactions/expenses", key, request)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(replayed).isEqualTo(first);
+        assertThat(persisted).isEqualTo(first);
+        assertThat(accountRepository.findBalanceById(checking.getId())).isEqualTo(96.0);
+    }
+
+    @Test
+    void concurrentDuplicatesCoalesceOntoOneTransfer() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CreateTransferRequest request = new CreateTransferRequest("Savings", 10.0, LocalDate.now(), checking.getId(), savings.getId());
+        ExecutorService executor = Executors.newFixedThreadPool(DUPLICATES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> responses = new ArrayList<>();
+
+        for (int i = 0; i < DUPLICATES; i++) {
+            responses.add(executor.submit(() -> {
+                start.await();
+
+                return postWithKey("/transactions/transfers", key, request)
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            }));
+        }
+
+        start.countDown();
+
+        String first = responses.getFirst().get();
+
+        for (Future<String> response : responses) {
+            assertThat(response.get()).isEqualTo(first);
+        }
+
+        executor.shutdown();
+
+        assertThat(accountRepository.findBalanceById(checking.getId())).isEqualTo(90.0);
+        assertThat(accountRepository.findBalanceById(savings.getId())).isEqualTo(10.0);
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CreateExpenseRequest expense = new CreateExpenseRequest("Lunch", 12.0, LocalDate.now(), checking.getId());
+        CreateIncomeRequest income = new CreateIncomeRequest("Lunch", 12.0, LocalDate.now(), checking.getId());
+
+        postWithKey("/transactions/expenses", key, expense).andExpect(status().isCreated());
+
+        postWithKey("/transactions/expenses", key, new CreateExpenseRequest("Lunch", 13.0, LocalDate.now(), checking.getId()))
+            .andExpect(status().isUnprocessableContent());
+        postWithKey("/transactions/incomes", key, income)
+            .andExpect(status().isUnprocessableContent());
+
+        assertThat(accountRepository.findBalanceById(checking.getId())).isEqualTo(88.0);
+    }
+
+    @Test
+    void failedRequestReleasesItsKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        postWithKey("/transactions/expenses", key, new CreateExpenseRequest("Lost", 1.0, LocalDate.now(), UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+
+        assertThat(idempotencyRecordRepository.existsById(new IdempotencyRecordId(user.getId(), key))).isFalse();
+
+        postWithKey("/transactions/expenses", key, new CreateExpenseRequest("Found", 1.0, LocalDate.now(), checking.getId()))
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    void duplicateStopsWaitingAfterTheInFlightWait() throws Exception {
+        IdempotencyService service = service(Duration.ofMinutes(1), Duration.ofMillis(100));
+        String key = UUID.randomUUID().toString();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<ResponseEntity<String>> first = executor.submit(() -> {
+            authenticate();
+
+            return service.execute(key, "test", "body", new TypeReference<String>() {}, () -> {
+                running.countDown();
+                await(finish);
+
+                return ResponseEntity.ok("done");
+            });
+        });
+
+        running.await();
+        authenticate();
+
+        assertThatThrownBy(() -> service.execute(key, "test", "body", new TypeReference<String>() {}, () -> ResponseEntity.ok("again")))
+            .isInstanceOf(IdempotencyKeyInProgressException.class);
+
+        finish.countDown();
+
+        assertThat(first.get().getBody()).isEqualTo("done");
+        assertThat(service.execute(key, "test", "body", new TypeReference<String>() {}, () -> ResponseEntity.ok("again")).getBody())
+            .isEqualTo("done");
+
+        executor.shutdown();
+    }
+
+    @Test
+    void claimLeftByACrashLapsesAfterTheClaimTimeout() throws Exception {
+        String key = UUID.randomUUID().toString();
+        Instant claimedBefore = Instant.now();
+
+        authenticate();
+
+        assertThatThrownBy(() -> service(Duration.ofMillis(500), Duration.ofSeconds(1))
+            .execute(key, "test", "body", new TypeReference<String>() {}, () -> {
+                throw new StackOverflowError("crash before the response is recorded");
+            }))
+            .isInstanceOf(StackOverflowError.class);
+
+        assertThat(idempotencyRecordRepository.findById(new IdempotencyRecordId(user.getId(), key)))
+            .get()
+            .satisfies(claim -> assertThat(claim.getExpiresAt()).isBefore(claimedBefore.plus(Duration.ofMinutes(1))));
+
+        IdempotencyService otherInstance = service(Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> otherInstance.execute(key, "test", "body", new TypeReference<String>() {}, () -> ResponseEntity.ok("retried")))
+            .isInstanceOf(IdempotencyKeyInProgressException.class);
+
+        Thread.sleep(600);
+
+        assertThat(otherInstance.execute(key, "test", "body", new TypeReference<String>() {}, () -> ResponseEntity.ok("retried")).getBody())
+            .isEqualTo("retried");
+        assertThat(idempotencyRecordRepository.findById(new IdempotencyRecordId(user.getId(), key)))
+            .get()
+            .satisfies(record -> assertThat(record.getExpiresAt()).isAfter(claimedBefore.plus(Duration.ofHours(23))));
+    }
+
+    private IdempotencyService service(Duration claimTimeout, Duration inFlightWait) {
+        return new IdempotencyService(idempotencyRecordRepository, authService, objectMapper, Duration.ofHours(24), claimTimeout, inFlightWait, 100);
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResultActions postWithKey(String path, String key, Object body) throws Exception {
+        return mockMvc.perform(post(path)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .header(IdempotencyService.HEADER, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+    }
+
+    private Account createAccount(String name, Double balance) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(balance);
+        account.setUser(user);
+
+        return accountRepository.save(account);
+    }
+
+}
@@ -0,0 +1,102 @@
+package br.edu.ufrn.expensify.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives the limiter with a fake clock, a round at a time: each round takes
+ * every permit the limit allows and releases them all after the given latency.
+ * Queueing under load is simulated by the latency alone. The whole application
+ * past saturation is covered by {@code ExpensifyOverloadTests}.
+ */
+class ConcurrencyLimiterTests {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void sustainedQueueingKeepsTheLimitDown() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(100, 50, 400, 1.0, clock::get);
+
+        rounds(limiter, 20, 2);
+        assertThat(limiter.getLimit()).isGreaterThan(100);
+
+        // Some ten thousand samples within eight seconds
+        rounds(limiter, 200, 40);
+
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void baselineFollowsASlowerSystemAfterTwoWindows() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(100, 50, 400, 1.0, clock::get);
+
+        rounds(limiter, 20, 2);
+        rounds(limiter, 200, 40);
+        assertThat(limiter.getLimit()).isEqualTo(50);
+
+        rounds(limiter, 1_600, 40);
+
+        assertThat(limiter.getLimit()).isGreaterThan(50);
+    }
+
+    @Test
+    void ignoredRequestsDoNotMoveTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(100, 50, 400, 1.0, clock::get);
+
+        rounds(limiter, 20, 2);
+        int limit = limiter.getLimit();
+
+        ConcurrencyLimiter.Permit download = limiter.tryAcquire(false);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        download.ignore();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(limit);
+    }
+
+    @Test
+    void nonCriticalRequestsLeaveHeadroom() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 10, 10, 0.5);
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.tryAcquire(false));
+        }
+
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.tryAcquire(false)).isNull();
+
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.tryAcquire(true));
+        }
+
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.tryAcquire(true)).isNull();
+
+        permits.forEach(ConcurrencyLimiter.Permit::release);
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.tryAcquire(false)).isNotNull();
+    }
+
+    private void rounds(ConcurrencyLimiter limiter, int rounds, long latencyMillis) {
+        for (int round = 0; round < rounds; round++) {
+            List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            ConcurrencyLimiter.Permit permit;
+
+            while ((permit = limiter.tryAcquire(true)) != null) {
+                permits.add(permit);
+            }
+
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            permits.forEach(ConcurrencyLimiter.Permit::release);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package br.edu.ufrn.expensify.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 1_000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void admitsABurstThenTheReplenishRate() {
+        RateLimiter limiter = new RateLimiter(3, 2.0, 100, clock::get);
+        UUID client = UUID.randomUUID();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(client)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire(client)).isEqualTo(SECOND / 2);
+
+        clock.addAndGet(SECOND / 2);
+
+        assertThat(limiter.tryAcquire(client)).isZero();
+        assertThat(limiter.tryAcquire(client)).isPositive();
+        assertThat(limiter.tryAcquire(UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    void concurrentClientsNeverExceedCapacity() throws Exception {
+        RateLimiter limiter = new RateLimiter(500, 1.0, 100, clock::get);
+        UUID client = UUID.randomUUID();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> admitted = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            admitted.add(executor.submit(() -> {
+                start.await();
+                int count = 0;
+
+                for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                    count += limiter.tryAcquire(client) == 0 ? 1 : 0;
+                }
+
+                return count;
+            }));
+        }
+
+        start.countDown();
+
+        int total = 0;
+
+        for (Future<Integer> count : admitted) {
+            total += count.get();
+        }
+
+        executor.shutdown();
+
+        assertThat(total).isEqualTo(500);
+    }
+
+    @Test
+    void idleBucketsAreDroppedOnceFull() {
+        RateLimiter limiter = new RateLimiter(10, 5.0, 100, clock::get);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(UUID.randomUUID());
+        }
+
+        assertThat(limiter.size()).isEqualTo(50);
+
+        clock.addAndGet(2 * SECOND + 1);
+
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        RateLimiter limiter = RateLimiter.disabled();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limiter.tryAcquire("client")).isZero();
+        }
+
+        assertThat(limiter.isEnabled()).isFalse();
+    }
+
+}
@@ -0,0 +1,209 @@
+package br.edu.ufrn.expensify.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.exception.InvalidDateRangeException;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.report.entity.MonthlyRollup;
+import br.edu.ufrn.expensify.report.entity.MonthlyRollupId;
+import br.edu.ufrn.expensify.report.repository.MonthlyRollupRepository;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MonthlyRollupServiceTests {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Account checking;
+    private Account savings;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("rollups-" + UUID.randomUUID(), "password"));
+        checking = createAccount("Checking");
+        savings = createAccount("Savings");
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+
+        transactionService.createIncome(income(checking, JANUARY.atDay(5), 1_000.0));
+        transactionService.createExpense(expense(checking, JANUARY.atDay(10), 200.0));
+        transactionService.createTransfer(transfer(checking, savings, JANUARY.atDay(31), 300.0));
+        transactionService.createExpenses(List.of(
+            expense(checking, FEBRUARY.atDay(1), 50.0),
+            expense(checking, FEBRUARY.atDay(2), 25.0),
+            expense(savings, FEBRUARY.atDay(3), 10.0)
+        ));
+
+        Income refunded = transactionService.createIncome(income(savings, FEBRUARY.atDay(4), 70.0));
+        transactionService.deleteIncome(transactionService.retrieveIncome(refunded.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesKeepRollupsInStep() {
+        assertRollups();
+    }
+
+    @Test
+    void rebuildRegeneratesRollupsFromTransactions() {
+        monthlyRollupRepository.deleteAll(monthlyRollupRepository.findByUserIdAndMonthBetween(
+            user.getId(), JANUARY.atDay(1), FEBRUARY.atDay(1)
+        ));
+
+        assertThat(monthlyRollupService.getMonthlyRollups(JANUARY, FEBRUARY)).isEmpty();
+        assertThat(monthlyRollupService.rebuildAll()).isPositive();
+
+        assertRollups();
+    }
+
+    @Test
+    void reportIsOneStatementRegardlessOfTransactionCount() {
+        long statementsBefore = SqlStatementCounter.current();
+
+        monthlyRollupService.getMonthlyRollups(JANUARY, FEBRUARY);
+
+        assertThat(SqlStatementCounter.current() - statementsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void reversedRangeIsRejected() {
+        assertThatThrownBy(() -> monthlyRollupService.getMonthlyRollups(FEBRUARY, JANUARY))
+            .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    @Test
+    void deltasFollowTheAccountLockOrder() {
+        UUID low = new UUID(0x1000_0000_0000_0000L, 0);
+        UUID high = new UUID(0x8000_0000_0000_0000L, 0);
+
+        MonthlyRollupDeltas deltas = new MonthlyRollupDeltas()
+            .expense(high, JANUARY.atDay(1), 1.0)
+            .expense(low, JANUARY.atDay(1), 1.0);
+
+        assertThat(deltas.byAccountAndMonth().keySet())
+            .extracting(MonthlyRollupId::getAccountId)
+            .containsExactly(low, high);
+    }
+
+    private void assertRollups() {
+        List<MonthlyRollup> rollups = monthlyRollupService.getMonthlyRollups(JANUARY, FEBRUARY);
+
+        assertThat(rollups).hasSize(4);
+        assertRollup(rollups, checking, JANUARY, 1_000.0, 200.0, 0.0, 300.0);
+        assertRollup(rollups, savings, JANUARY, 0.0, 0.0, 300.0, 0.0);
+        assertRollup(rollups, checking, FEBRUARY, 0.0, 75.0, 0.0, 0.0);
+        assertRollup(rollups, savings, FEBRUARY, 0.0, 10.0, 0.0, 0.0);
+    }
+
+    private void assertRollup(
+        List<MonthlyRollup> rollups,
+        Account account,
+        YearMonth month,
+        double income,
+        double expense,
+        double transferIn,
+        double transferOut
+    ) {
+        MonthlyRollup rollup = rollups.stream()
+            .filter(candidate -> candidate.getAccountId().equals(account.getId()))
+            .filter(candidate -> candidate.getMonth().equals(month.atDay(1)))
+            .findFirst()
+            .orElseThrow();
+
+        assertThat(rollup.getIncomeTotal()).isEqualTo(income);
+        assertThat(rollup.getExpenseTotal()).isEqualTo(expense);
+        assertThat(rollup.getTransferInTotal()).isEqualTo(transferIn);
+        assertThat(rollup.getTransferOutTotal()).isEqualTo(transferOut);
+    }
+
+    private Income income(Account account, LocalDate date, Double amount) {
+        Income income = new Income();
+        income.setDescription("Income");
+        income.setAmount(amount);
+        income.setDate(date);
+        income.setAccount(accountService.getAccountReference(account.getId()));
+
+        return income;
+    }
+
+    private Expense expense(Account account, LocalDate date, Double amount) {
+        Expense expense = new Expense();
+        expense.setDescription("Expense");
+        expense.setAmount(amount);
+        expense.setDate(date);
+        expense.setAccount(accountService.getAccountReference(account.getId()));
+
+        return expense;
+    }
+
+    private Transfer transfer(Account source, Account destination, LocalDate date, Double amount) {
+        Transfer transfer = new Transfer();
+        transfer.setDescription("Transfer");
+        transfer.setAmount(amount);
+        transfer.setDate(date);
+        transfer.setSourceAccount(accountService.getAccountReference(source.getId()));
+        transfer.setDestinationAccount(accountService.getAccountReference(destination.getId()));
+
+        return transfer;
+    }
+
+    private Account createAccount(String name) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(0.0);
+        account.setUser(user);
+
+        return accountRepository.save(account);
+    }
+
+}
@@ -0,0 +1,220 @@
+package br.edu.ufrn.expensify.transaction.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.JwtService;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.service.TransactionService;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Checks that list endpoints, including the unified feed, cost a single
+ * query per page whatever the number of rows or distinct accounts on it, on top
+ * of the data version lookup that tags every read.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionControllerTests {
+
+    private static final int ROWS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("lists-" + UUID.randomUUID(), "password"));
+        Account checking = createAccount(user, "Checking");
+        Account savings = createAccount(user, "Savings");
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+
+        try {
+            for (int i = 0; i < ROWS; i++) {
+                Account account = i % 2 == 0 ? checking : savings;
+                Account other = i % 2 == 0 ? savings : checking;
+                LocalDate date = LocalDate.of(2024, 1, 1).plusDays(i);
+
+                Income income = new Income();
+                income.setDescription("Income " + i);
+                income.setAmount(10.0);
+                income.setDate(date);
+                income.setAccount(accountService.getAccountReference(account.getId()));
+                transactionService.createIncome(income);
+
+                Expense expense = new Expense();
+                expense.setDescription("Expense " + i);
+                expense.setAmount(1.0);
+                expense.setDate(date);
+                expense.setAccount(accountService.getAccountReference(account.getId()));
+                transactionService.createExpense(expense);
+
+                Transfer transfer = new Transfer();
+                transfer.setDescription("Transfer " + i);
+                transfer.setAmount(1.0);
+                transfer.setDate(date);
+                transfer.setSourceAccount(accountService.getAccountReference(account.getId()));
+                transfer.setDestinationAccount(accountService.getAccountReference(other.getId()));
+                transactionService.createTransfer(transfer);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void incomeListIsOneQuery() throws Exception {
+        assertSingleQuery("/transactions/incomes", "$.items[0].account_id");
+    }
+
+    @Test
+    void expenseListIsOneQuery() throws Exception {
+        assertSingleQuery("/transactions/expenses", "$.items[0].account_id");
+    }
+
+    @Test
+    void transferListIsOneQuery() throws Exception {
+        assertSingleQuery("/transactions/transfers", "$.items[0].destination_account_id");
+    }
+
+    @Test
+    void accountListIsOneQuery() throws Exception {
+        assertSingleQuery("/accounts", "$.items[1].balance");
+    }
+
+    @Test
+    void feedWalksEveryKindNewestFirstOneQueryPerPage() throws Exception {
+        List<JsonNode> seen = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            long statementsBefore = SqlStatementCounter.current();
+
+            MockHttpServletRequestBuilder request = get("/transactions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .param("limit", "4");
+
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+
+            String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+            assertThat(SqlStatementCounter.current() - statementsBefore).isEqualTo(2);
+
+            JsonNode page = objectMapper.readTree(body);
+            page.get("items").forEach(seen::add);
+            cursor = page.get("next_cursor").isNull() ? null : page.get("next_cursor").asString();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(3 * ROWS);
+        assertThat(seen).extracting(item -> item.get("id").asString()).doesNotHaveDuplicates();
+        assertThat(seen).extracting(item -> item.get("date").asString()).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(seen).filteredOn(item -> item.get("type").asString().equals("TRANSFER"))
+            .hasSize(ROWS)
+            .allMatch(item -> item.has("source_account_id") && !item.has("account_id"));
+        assertThat(seen).filteredOn(item -> item.get("type").asString().equals("EXPENSE"))
+            .hasSize(ROWS)
+            .allMatch(item -> item.has("account_id"));
+    }
+
+    @Test
+    void cursorsFromAnotherListAreRejected() throws Exception {
+        String accountCursor = nextCursor("/accounts");
+        String transactionCursor = nextCursor("/transactions");
+
+        mockMvc.perform(get("/transactions").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).param("cursor", accountCursor))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/transactions/incomes").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).param("cursor", accountCursor))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/accounts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).param("cursor", transactionCursor))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/accounts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private String nextCursor(String path) throws Exception {
+        String body = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token).param("limit", "1"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(body).get("next_cursor").asString();
+    }
+
+    private void assertSingleQuery(String path, String expectedField) throws Exception {
+        long statementsBefore = SqlStatementCounter.current();
+
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(expectedField).exists());
+
+        assertThat(SqlStatementCounter.current() - statementsBefore).isEqualTo(2);
+    }
+
+    private Account createAccount(User owner, String name) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(0.0);
+        account.setUser(owner);
+
+        return accountRepository.save(account);
+    }
+
+}
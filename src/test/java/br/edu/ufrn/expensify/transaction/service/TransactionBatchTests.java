@@ -0,0 +1,139 @@
+package br.edu.ufrn.expensify.transaction.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.exception.InvalidBatchException;
+
+/**
+ * Compares the statements spent importing expenses one request at a time with
+ * the batch path. The single-item path is driven the way the controller drives
+ * it, loading the account before each create. Throughput of the two is measured
+ * by {@code TransactionBatchBenchmark} under the {@code benchmark} profile.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionBatchTests {
+
+    private static final int ITEMS = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("batch-" + UUID.randomUUID(), "password"));
+
+        account = new Account();
+        account.setName("Imports");
+        account.setBalance(0.0);
+        account.setUser(user);
+        account = accountRepository.save(account);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void batchCreateSpendsFarFewerStatements() {
+        long singleStatements = SqlStatementCounter.current();
+
+        importOneByOne(ITEMS);
+
+        singleStatements = SqlStatementCounter.current() - singleStatements;
+
+        long batchStatements = SqlStatementCounter.current();
+
+        transactionService.createExpenses(expenses(ITEMS));
+
+        batchStatements = SqlStatementCounter.current() - batchStatements;
+
+        assertThat(batchStatements * 20).isLessThan(singleStatements);
+        assertThat(accountRepository.findBalanceById(account.getId())).isEqualTo(-2.0 * ITEMS);
+    }
+
+    @Test
+    void invalidItemsRejectTheWholeBatch() {
+        User stranger = userRepository.save(new User("stranger-" + UUID.randomUUID(), "password"));
+
+        Account foreign = new Account();
+        foreign.setName("Foreign");
+        foreign.setBalance(0.0);
+        foreign.setUser(stranger);
+        foreign = accountRepository.save(foreign);
+
+        List<Expense> batch = expenses(3);
+        batch.get(1).setAmount(-5.0);
+        batch.get(2).setAccount(accountService.getAccountReference(foreign.getId()));
+
+        assertThatThrownBy(() -> transactionService.createExpenses(batch))
+            .isInstanceOf(InvalidBatchException.class)
+            .hasMessageContaining("items[1].amount")
+            .hasMessageContaining("items[2]: account not found");
+
+        assertThat(accountRepository.findBalanceById(account.getId())).isEqualTo(0.0);
+    }
+
+    private void importOneByOne(int count) {
+        for (Expense expense : expenses(count)) {
+            expense.setAccount(accountService.getAccountById(account.getId()));
+
+            transactionService.createExpense(expense);
+        }
+    }
+
+    private List<Expense> expenses(int count) {
+        List<Expense> expenses = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Expense expense = new Expense();
+            expense.setDescription("Imported expense " + i);
+            expense.setAmount(1.0);
+            expense.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            expense.setAccount(accountService.getAccountReference(account.getId()));
+            expenses.add(expense);
+        }
+
+        return expenses;
+    }
+
+}
@@ -0,0 +1,285 @@
+package br.edu.ufrn.expensify.transaction.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.entity.Account;
+import br.edu.ufrn.expensify.account.exception.AccountNotFoundException;
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.service.AccountService;
+import br.edu.ufrn.expensify.auth.entity.User;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.config.SqlStatementCounter;
+import br.edu.ufrn.expensify.pagination.Cursor;
+import br.edu.ufrn.expensify.record.PageResponse;
+import br.edu.ufrn.expensify.transaction.entity.Expense;
+import br.edu.ufrn.expensify.transaction.entity.Income;
+import br.edu.ufrn.expensify.transaction.entity.TransactionType;
+import br.edu.ufrn.expensify.transaction.entity.Transfer;
+import br.edu.ufrn.expensify.transaction.export.ExportFormat;
+import br.edu.ufrn.expensify.transaction.export.TransactionExportWriter;
+import br.edu.ufrn.expensify.transaction.record.IncomeResponse;
+import br.edu.ufrn.expensify.transaction.record.TransactionResponse;
+import br.edu.ufrn.expensify.version.service.DataVersionService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionServiceTests {
+
+    private static final int TRANSFERS = 2_000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private Account checking;
+    private Account savings;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("transfer-" + UUID.randomUUID(), "password"));
+        dataVersionService.bump(user.getId());
+        checking = createAccount(user, "Checking", 1_000.0);
+        savings = createAccount(user, "Savings", 1_000.0);
+
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Two balance updates, the two inserts of the joined rows, an insert and an
+     * increment for each account's monthly rollup, and the data version bump.
+     */
+    @Test
+    void transferMovesBalanceWithNineStatements() {
+        DistributionSummary statements = meterRegistry.get("expensify.transfers.statements").tag("retried", "false").summary();
+        Timer duration = meterRegistry.get("expensify.transfers.duration").tag("retried", "false").timer();
+        long statementsBefore = SqlStatementCounter.current();
+        double recordedBefore = statements.totalAmount();
+        long timedBefore = duration.count();
+
+        Transfer created = transactionService.createTransfer(newTransfer(checking, savings, 250.0));
+
+        assertThat(SqlStatementCounter.current() - statementsBefore).isEqualTo(9);
+        assertThat(statements.totalAmount() - recordedBefore).isEqualTo(9);
+        assertThat(duration.count() - timedBefore).isEqualTo(1);
+        assertThat(created.getId()).isNotNull();
+        assertThat(accountRepository.findBalanceById(checking.getId())).isEqualTo(750.0);
+        assertThat(accountRepository.findBalanceById(savings.getId())).isEqualTo(1_250.0);
+    }
+
+    @Test
+    void transferToAnotherUsersAccountIsRejected() {
+        User stranger = userRepository.save(new User("stranger-" + UUID.randomUUID(), "password"));
+        Account foreign = createAccount(stranger, "Foreign", 0.0);
+
+        assertThatThrownBy(() -> transactionService.createTransfer(newTransfer(checking, foreign, 100.0)))
+            .isInstanceOf(AccountNotFoundException.class);
+
+        assertThat(accountRepository.findBalanceById(checking.getId())).isEqualTo(1_000.0);
+        assertThat(accountRepository.findBalanceById(foreign.getId())).isEqualTo(0.0);
+    }
+
+    @Test
+    void concurrentOppositeTransfersDoNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            boolean forward = i % 2 == 0;
+
+            futures.add(executor.submit(() -> {
+                authenticate(user);
+
+                try {
+                    if (forward) {
+                        transactionService.createTransfer(newTransfer(checking, savings, 1.0));
+                    } else {
+                        transactionService.createTransfer(newTransfer(savings, checking, 1.0));
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+
+        assertThat(accountRepository.findBalanceById(checking.getId())).isEqualTo(1_000.0);
+        assertThat(accountRepository.findBalanceById(savings.getId())).isEqualTo(1_000.0);
+    }
+
+    @Test
+    void incomesArePagedNewestFirstWithoutGapsOrDuplicates() {
+        for (int day = 1; day <= 7; day++) {
+            Income income = new Income();
+            income.setDescription("Income " + day);
+            income.setAmount(1.0);
+            income.setDate(LocalDate.of(2024, 1, day % 3 + 1));
+            income.setAccount(accountService.getAccountReference(checking.getId()));
+
+            transactionService.createIncome(income);
+        }
+
+        List<IncomeResponse> seen = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            PageResponse<IncomeResponse> page = PageResponse.of(
+                transactionService.retrieveAllIncomes(Cursor.decodeDated(cursor), 3 + 1),
+                3,
+                income -> new Cursor(income.date(), income.id())
+            );
+
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(3);
+
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(IncomeResponse::id).doesNotHaveDuplicates();
+        assertThat(seen).extracting(IncomeResponse::date).isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    void exportStreamsEveryTransactionOldestFirst() {
+        Income income = new Income();
+        income.setDescription("Salary");
+        income.setAmount(100.0);
+        income.setDate(LocalDate.of(2024, 1, 1));
+        income.setAccount(accountService.getAccountReference(checking.getId()));
+        transactionService.createIncome(income);
+
+        Expense expense = new Expense();
+        expense.setDescription("Rent, January");
+        expense.setAmount(50.0);
+        expense.setDate(LocalDate.of(2024, 1, 2));
+        expense.setAccount(accountService.getAccountReference(checking.getId()));
+        transactionService.createExpense(expense);
+
+        transactionService.createTransfer(newTransfer(checking, savings, 10.0));
+
+        StringWriter ndjson = new StringWriter();
+        TransactionExportWriter ndjsonWriter = ExportFormat.NDJSON.writer(ndjson, objectMapper);
+        transactionService.exportAllTransactions(ndjsonWriter::write);
+
+        List<String> lines = ndjson.toString().lines().toList();
+        JsonNode first = objectMapper.readTree(lines.getFirst());
+
+        assertThat(lines).hasSize(3);
+        assertThat(first.get("type").asString()).isEqualTo("INCOME");
+        assertThat(first.get("account_id").asString()).isEqualTo(checking.getId().toString());
+
+        StringWriter csv = new StringWriter();
+        TransactionExportWriter csvWriter = ExportFormat.CSV.writer(csv, objectMapper);
+        csvWriter.writeHeader();
+        transactionService.exportAllTransactions(csvWriter::write);
+
+        assertThat(csv.toString().lines()).hasSize(4);
+        assertThat(csv.toString()).contains("\"Rent, January\"");
+    }
+
+    @Test
+    void exportSkipsTransactionsOfDeletedAccounts() {
+        Account closed = createAccount(user, "Closed", 0.0);
+
+        Income income = new Income();
+        income.setDescription("Refund");
+        income.setAmount(20.0);
+        income.setDate(LocalDate.of(2024, 1, 1));
+        income.setAccount(accountService.getAccountReference(closed.getId()));
+        transactionService.createIncome(income);
+
+        transactionService.createTransfer(newTransfer(closed, checking, 5.0));
+        transactionService.createTransfer(newTransfer(checking, savings, 10.0));
+
+        accountService.deleteAccount(closed.getId());
+
+        List<TransactionResponse> rows = new ArrayList<>();
+        transactionService.exportAllTransactions(rows::add);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.type()).isEqualTo(TransactionType.TRANSFER);
+            assertThat(row.sourceAccountId()).isEqualTo(checking.getId());
+            assertThat(row.destinationAccountId()).isEqualTo(savings.getId());
+        });
+    }
+
+    private Transfer newTransfer(Account source, Account destination, Double amount) {
+        Transfer transfer = new Transfer();
+        transfer.setDescription("Transfer");
+        transfer.setAmount(amount);
+        transfer.setDate(LocalDate.now());
+        transfer.setSourceAccount(accountService.getAccountReference(source.getId()));
+        transfer.setDestinationAccount(accountService.getAccountReference(destination.getId()));
+
+        return transfer;
+    }
+
+    private Account createAccount(User owner, String name, Double balance) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(balance);
+        account.setUser(owner);
+
+        return accountRepository.save(account);
+    }
+
+    private void authenticate(User principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+    }
+
+}
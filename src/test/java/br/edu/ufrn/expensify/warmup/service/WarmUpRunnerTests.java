@@ -0,0 +1,82 @@
+package br.edu.ufrn.expensify.warmup.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.edu.ufrn.expensify.account.repository.AccountRepository;
+import br.edu.ufrn.expensify.account.repository.LedgerEntryRepository;
+import br.edu.ufrn.expensify.account.service.AccountCache;
+import br.edu.ufrn.expensify.auth.repository.UserRepository;
+import br.edu.ufrn.expensify.auth.service.UserCache;
+import br.edu.ufrn.expensify.idempotency.repository.IdempotencyRecordRepository;
+import br.edu.ufrn.expensify.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class WarmUpRunnerTests {
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void runsTheIterationBudgetAndLeavesNothingBehind() {
+        long users = userRepository.count();
+        long accounts = accountRepository.count();
+        long transactions = transactionRepository.count();
+        long ledgerEntries = ledgerEntryRepository.count();
+        long idempotencyRecords = idempotencyRecordRepository.count();
+        double counted = transactionCounters();
+        long cachedUsers = userCache.size();
+        long cachedAccounts = accountCache.size();
+
+        assertThat(warmUpRunner.warmUp()).isEqualTo(3);
+
+        assertThat(userRepository.count()).isEqualTo(users);
+        assertThat(accountRepository.count()).isEqualTo(accounts);
+        assertThat(transactionRepository.count()).isEqualTo(transactions);
+        assertThat(ledgerEntryRepository.count()).isEqualTo(ledgerEntries);
+        assertThat(idempotencyRecordRepository.count()).isEqualTo(idempotencyRecords);
+        assertThat(transactionCounters()).isEqualTo(counted);
+        assertThat(userCache.size()).isEqualTo(cachedUsers);
+        assertThat(accountCache.size()).isEqualTo(cachedAccounts);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private double transactionCounters() {
+        return meterRegistry.find("expensify.transactions").counters().stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    }
+
+}